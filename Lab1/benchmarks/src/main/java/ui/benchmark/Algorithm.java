@@ -0,0 +1,38 @@
+package ui.benchmark;
+
+import ui.blind.BreathFirstSearch;
+import ui.blind.IntBreathFirstSearch;
+import ui.blind.IntUniformCostSearch;
+import ui.blind.UniformCostSearch;
+import ui.common.ISearchAlgorithm;
+import ui.common.StateGraph;
+import ui.informed.AStarSearch;
+import ui.informed.Heuristics;
+import ui.informed.IntAStarSearch;
+
+/**
+ * Search algorithms compared by benchmarks, both object based ones and the ones working on state ids.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public enum Algorithm {
+    BFS,
+    UCS,
+    ASTAR,
+    INT_BFS,
+    INT_UCS,
+    INT_ASTAR;
+
+    public ISearchAlgorithm<String> create(StateGraph<String> graph, Heuristics<String> heuristics) {
+        return switch (this) {
+            case BFS -> new BreathFirstSearch<>(graph);
+            case UCS -> new UniformCostSearch<>(graph);
+            case ASTAR -> new AStarSearch<>(graph, heuristics);
+            case INT_BFS -> new IntBreathFirstSearch<>(graph);
+            case INT_UCS -> new IntUniformCostSearch<>(graph);
+            case INT_ASTAR -> new IntAStarSearch<>(graph, heuristics);
+        };
+    }
+}
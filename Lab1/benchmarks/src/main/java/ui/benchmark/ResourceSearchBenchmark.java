@@ -0,0 +1,55 @@
+package ui.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.ProblemParser;
+import ui.informed.HeuristicParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search on problems bundled as test resources. Problem is given as pair of state space
+ * and heuristics files separated by a colon, other files in the resources directory
+ * can be benchmarked by overriding the parameter with <code>-p problem=...</code>.
+ * Resources directory is taken from <code>resources.dir</code> system property.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class ResourceSearchBenchmark {
+    private static final Path RESOURCES = Path.of(System.getProperty("resources.dir", "../src/test/resources"));
+
+    @Param({"istra.txt:istra_heuristic.txt", "ai.txt:ai_pass.txt"})
+    public String problem;
+
+    @Param({"BFS", "UCS", "ASTAR", "INT_BFS", "INT_UCS", "INT_ASTAR"})
+    public Algorithm algorithm;
+
+    private ISearchAlgorithm<String> search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] files = problem.split(":");
+        if (files.length != 2)
+            throw new IllegalArgumentException("Problem must be given as states:heuristics, got " + problem);
+
+        ProblemParser problemParser = new ProblemParser(RESOURCES.resolve(files[0]));
+        HeuristicParser heuristicParser = new HeuristicParser(RESOURCES.resolve(files[1]));
+        search = algorithm.create(problemParser.getStateGraph(), heuristicParser);
+    }
+
+    @Benchmark
+    public NodeCost<String> search() {
+        return search.search();
+    }
+}
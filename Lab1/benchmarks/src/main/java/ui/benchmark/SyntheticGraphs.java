@@ -0,0 +1,117 @@
+package ui.benchmark;
+
+import ui.common.ShortestPaths;
+import ui.common.StateGraph;
+import ui.informed.Heuristics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of random search problems for benchmarks. States are numbered, every state has
+ * a transition to the next one so the last state, which is the only goal, is always reachable
+ * from the first one, and the other transitions lead to random states.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public final class SyntheticGraphs {
+
+    private SyntheticGraphs() {
+    }
+
+    /**
+     * Distribution of transition costs.
+     */
+    public enum CostDistribution {
+        /**
+         * Every transition costs 1.
+         */
+        UNIT,
+        /**
+         * Whole costs uniformly between 1 and 10.
+         */
+        UNIFORM,
+        /**
+         * Exponentially distributed costs with mean 5 rounded to one decimal,
+         * many cheap transitions and a few very expensive ones.
+         */
+        EXPONENTIAL;
+
+        double next(Random random) {
+            return switch (this) {
+                case UNIT -> 1;
+                case UNIFORM -> 1 + random.nextInt(10);
+                case EXPONENTIAL -> Math.round(- Math.log(1 - random.nextDouble()) * 50) / 10.0;
+            };
+        }
+    }
+
+    /**
+     * Generates graph with given number of states and transitions per state.
+     *
+     * @param size         number of states
+     * @param branching    number of transitions of every state
+     * @param distribution distribution of transition costs
+     * @param seed         seed of random generator
+     * @return generated graph
+     */
+    public static StateGraph<String> generate(int size, int branching, CostDistribution distribution, long seed) {
+        if (size < 2 || branching < 1)
+            throw new IllegalArgumentException("Graph needs at least 2 states and 1 transition per state");
+
+        Random random = new Random(seed);
+        StateGraph.Builder<String> builder = new StateGraph.Builder<>();
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++)
+            ids[i] = builder.intern(name(i));
+
+        builder.setStart(name(0));
+        builder.addGoal(name(size - 1));
+        for (int i = 0; i < size; i++) {
+            builder.addSuccessorList(ids[i]);
+            if (i + 1 < size)
+                builder.addEdge(ids[i], ids[i + 1], distribution.next(random));
+            for (int j = 1; j < branching; j++)
+                builder.addEdge(ids[i], ids[random.nextInt(size)], distribution.next(random));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Consistent heuristics equal to exact distance to goal multiplied by a factor.
+     *
+     * @param graph  graph
+     * @param factor factor between 0 and 1, smaller factors give less informed heuristics
+     * @return heuristics
+     */
+    public static Heuristics<String> scaledDistanceHeuristics(StateGraph<String> graph, double factor) {
+        double[] distances = ShortestPaths.distancesToGoals(graph);
+        for (int i = 0; i < distances.length; i++)
+            distances[i] = Double.isInfinite(distances[i]) ? 0 : distances[i] * factor;
+
+        List<String> ordered = new ArrayList<>(graph.stateCount());
+        for (int i = 0; i < graph.stateCount(); i++)
+            ordered.add(graph.stateOf(i));
+        ordered.sort(Comparator.comparingDouble((String state) -> distances[graph.idOf(state)]).reversed());
+
+        return new Heuristics<>() {
+            @Override
+            public double getHeuristicCost(String state) {
+                return distances[graph.idOf(state)];
+            }
+
+            @Override
+            public List<String> getOrderedStatesByHeuristics() {
+                return ordered;
+            }
+        };
+    }
+
+    private static String name(int index) {
+        return "s" + index;
+    }
+}
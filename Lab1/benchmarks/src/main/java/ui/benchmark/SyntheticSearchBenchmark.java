@@ -0,0 +1,56 @@
+package ui.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.StateGraph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search on generated graphs of configurable size, branching factor and cost distribution.
+ * Graph is generated once per trial with a fixed seed, so runs are comparable between builds.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticSearchBenchmark {
+
+    @Param({"10000", "200000"})
+    public int size;
+
+    @Param({"2", "8"})
+    public int branching;
+
+    @Param({"UNIT", "UNIFORM", "EXPONENTIAL"})
+    public SyntheticGraphs.CostDistribution costs;
+
+    @Param({"BFS", "UCS", "ASTAR", "INT_BFS", "INT_UCS", "INT_ASTAR"})
+    public Algorithm algorithm;
+
+    @Param("0.75")
+    public double heuristicFactor;
+
+    @Param("42")
+    public long seed;
+
+    private ISearchAlgorithm<String> search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StateGraph<String> graph = SyntheticGraphs.generate(size, branching, costs, seed);
+        search = algorithm.create(graph, SyntheticGraphs.scaledDistanceHeuristics(graph, heuristicFactor));
+    }
+
+    @Benchmark
+    public NodeCost<String> search() {
+        return search.search();
+    }
+}
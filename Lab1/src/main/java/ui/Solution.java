@@ -2,12 +2,31 @@ package ui;
 
 import ui.blind.*;
 
+import ui.common.BitStateSet;
+import ui.common.GraphSnapshot;
 import ui.common.ISearchAlgorithm;
+import ui.common.IndexedSearchProblem;
+import ui.common.IntFrontier;
+import ui.common.MappedProblemParser;
 import ui.common.ProblemParser;
+import ui.common.SearchMetrics;
+import ui.common.SearchResult;
+import ui.common.StateCodec;
+import ui.hierarchy.ContractionHierarchy;
+import ui.hierarchy.ContractionHierarchySearch;
 import ui.informed.*;
+import ui.service.BatchQueryEngine;
+import ui.service.SearchResultFormat;
+import ui.service.SearchServer;
+import ui.service.SearchService;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * @author MatejCubek
@@ -20,7 +39,31 @@ public class Solution {
         SearchOrCheckAlgorithm algorithm = null;
         Path states = null;
         Path heuristics = null;
-
+        boolean parallel = false;
+        boolean mapped = false;
+        boolean singlePrecision = false;
+        Path snapshot = null;
+        int transpositionTableSize = 0;
+        int cacheSize = 0;
+        boolean metrics = false;
+        double weight = 2;
+        double weightStep = 0.5;
+        long deadlineMillis = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        IntFrontier.Kind frontier = IntFrontier.Kind.HEAP;
+        int landmarkCount = 0;
+        int externalBudget = 0;
+        int bitStateLog2Bits = 0;
+        int hashCount = 3;
+        Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+        LandmarkHeuristics.Strategy landmarkStrategy = LandmarkHeuristics.Strategy.AVOID;
+        Path snapshotOutput = null;
+        Path hierarchyFile = null;
+        Path hierarchyOutput = null;
+        Path updates = null;
+        List<String> updateLines = List.of();
+        Path batch = null;
+        Integer port = null;
 
         try {
             for (int i = 0; i < args.length; i++) {
@@ -30,7 +73,15 @@ public class Solution {
                         algorithm = switch (next) {
                             case "bfs" -> SearchOrCheckAlgorithm.BFS;
                             case "ucs" -> SearchOrCheckAlgorithm.UCS;
+                            case "bibfs" -> SearchOrCheckAlgorithm.BIBFS;
+                            case "biucs" -> SearchOrCheckAlgorithm.BIUCS;
                             case "astar" -> SearchOrCheckAlgorithm.ASTAR;
+                            case "idastar" -> SearchOrCheckAlgorithm.IDASTAR;
+                            case "wastar" -> SearchOrCheckAlgorithm.WASTAR;
+                            case "arastar" -> SearchOrCheckAlgorithm.ARASTAR;
+                            case "hdastar" -> SearchOrCheckAlgorithm.HDASTAR;
+                            case "ch" -> SearchOrCheckAlgorithm.CH;
+                            case "lpastar" -> SearchOrCheckAlgorithm.LPASTAR;
                             default -> throw new IllegalArgumentException("No algorithm called " + next);
                         };
                     }
@@ -38,9 +89,46 @@ public class Solution {
                     case "--h" -> heuristics = Path.of(args[++ i]);
                     case "--check-optimistic" -> algorithm = SearchOrCheckAlgorithm.OPTIMISTIC_CHECK;
                     case "--check-consistent" -> algorithm = SearchOrCheckAlgorithm.CONSISTENT_CHECK;
+                    case "--parallel" -> parallel = true;
+                    case "--mmap" -> mapped = true;
+                    case "--h-float" -> singlePrecision = true;
+                    case "--tt-size" -> transpositionTableSize = Integer.parseInt(args[++ i]);
+                    case "--cache" -> cacheSize = Integer.parseInt(args[++ i]);
+                    case "--metrics" -> metrics = true;
+                    case "--weight" -> {
+                        weight = Double.parseDouble(args[++ i]);
+                        if (! (weight >= 1)) throw new IllegalArgumentException("Weight must be at least 1");
+                    }
+                    case "--weight-step" -> {
+                        weightStep = Double.parseDouble(args[++ i]);
+                        if (! (weightStep > 0)) throw new IllegalArgumentException("Weight step must be positive");
+                    }
+                    case "--deadline-ms" -> {
+                        deadlineMillis = Long.parseLong(args[++ i]);
+                        if (deadlineMillis < 0) throw new IllegalArgumentException("Deadline can not be negative");
+                    }
+                    case "--threads" -> {
+                        threads = Integer.parseInt(args[++ i]);
+                        if (threads < 1) throw new IllegalArgumentException("Search needs at least one thread");
+                    }
+                    case "--frontier" -> frontier = IntFrontier.Kind.valueOf(args[++ i].toUpperCase());
+                    case "--bitstate" -> bitStateLog2Bits = Integer.parseInt(args[++ i]);
+                    case "--hashes" -> hashCount = Integer.parseInt(args[++ i]);
+                    case "--external-budget" -> externalBudget = Integer.parseInt(args[++ i]);
+                    case "--temp-dir" -> tempDirectory = Path.of(args[++ i]);
+                    case "--landmarks" -> landmarkCount = Integer.parseInt(args[++ i]);
+                    case "--landmark-strategy" -> landmarkStrategy = LandmarkHeuristics.Strategy.valueOf(args[++ i].toUpperCase());
+                    case "--snapshot" -> snapshot = Path.of(args[++ i]);
+                    case "--write-snapshot" -> snapshotOutput = Path.of(args[++ i]);
+                    case "--ch" -> hierarchyFile = Path.of(args[++ i]);
+                    case "--write-ch" -> hierarchyOutput = Path.of(args[++ i]);
+                    case "--updates" -> updates = Path.of(args[++ i]);
+                    case "--batch" -> batch = Path.of(args[++ i]);
+                    case "--serve" -> port = Integer.parseInt(args[++ i]);
                     default -> throw new IllegalArgumentException("No argument: " + args[i]);
                 }
             }
+            if (bitStateLog2Bits != 0) BitStateSet.checkArguments(bitStateLog2Bits, hashCount);
         } catch (IllegalArgumentException argumentException) {
             System.out.println(argumentException.getMessage());
             return;
@@ -49,13 +137,67 @@ public class Solution {
             return;
         }
 
-        ProblemParser problemParser;
-        HeuristicParser heuristicParser = null;
+        IndexedSearchProblem<String> problemParser;
+        Heuristics<String> heuristicParser = null;
+        ContractionHierarchy hierarchy = null;
 
         try {
-            problemParser = new ProblemParser(states);
-            if (algorithm != SearchOrCheckAlgorithm.BFS && algorithm != SearchOrCheckAlgorithm.UCS) {
-                heuristicParser = new HeuristicParser(heuristics);
+            if (snapshot != null) {
+                GraphSnapshot loaded = GraphSnapshot.load(snapshot);
+                problemParser = loaded.getGraph();
+                if (heuristics == null && loaded.hasHeuristics()) {
+                    heuristicParser = new SnapshotHeuristics(loaded);
+                    heuristics = Path.of(loaded.heuristicLabel());
+                }
+            } else {
+                problemParser = mapped ? new MappedProblemParser(states) : new ProblemParser(states);
+            }
+            if (hierarchyOutput != null) {
+                ContractionHierarchy.contract(problemParser.getStateGraph()).write(hierarchyOutput);
+                System.out.println("Hierarchy written to " + hierarchyOutput);
+                return;
+            }
+            if (algorithm == SearchOrCheckAlgorithm.CH) {
+                hierarchy = hierarchyFile != null
+                        ? ContractionHierarchy.load(hierarchyFile, problemParser.getStateGraph())
+                        : ContractionHierarchy.contract(problemParser.getStateGraph());
+            }
+
+            boolean needsHeuristics = snapshotOutput != null || batch != null || port != null
+                    ? heuristics != null
+                    : algorithm == null || algorithm.isInformed();
+            if (landmarkCount > 0) {
+                heuristicParser = new LandmarkHeuristics<>(problemParser.getStateGraph(), landmarkCount, landmarkStrategy);
+                heuristics = Path.of("ALT-" + landmarkCount);
+            }
+            if (heuristicParser == null && needsHeuristics) {
+                heuristicParser = mapped
+                        ? new MappedHeuristicParser(heuristics, singlePrecision)
+                        : new HeuristicParser(heuristics, singlePrecision);
+            }
+
+            if (snapshotOutput != null) {
+                writeSnapshot(snapshotOutput, problemParser, heuristicParser, heuristics);
+                System.out.println("Snapshot written to " + snapshotOutput);
+                return;
+            }
+
+            if (updates != null) updateLines = Files.readAllLines(updates);
+
+            String heuristicLabel = heuristics != null ? heuristics.getFileName().toString() : null;
+            if (batch != null) {
+                SearchService service = new SearchService(problemParser, heuristicParser, heuristicLabel, transpositionTableSize, cacheSize);
+                new BatchQueryEngine(service).run(batch, new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false));
+                return;
+            }
+
+            if (port != null) {
+                SearchService service = new SearchService(problemParser, heuristicParser, heuristicLabel, transpositionTableSize, cacheSize);
+                try (SearchServer server = new SearchServer(service, port)) {
+                    System.out.println("Listening on port " + server.getPort());
+                    server.serve();
+                }
+                return;
             }
         } catch (IOException e) {
             System.out.println("Problem with file: " + e.getMessage());
@@ -63,67 +205,146 @@ public class Solution {
         }
 
         assert algorithm != null;
+        SearchMetrics searchMetrics = metrics ? new SearchMetrics() : null;
+        if (externalBudget > 0 && (algorithm == SearchOrCheckAlgorithm.BFS || algorithm == SearchOrCheckAlgorithm.UCS)) {
+            var search = new ExternalMemorySearch<>(problemParser, StateCodec.STRINGS,
+                    algorithm == SearchOrCheckAlgorithm.UCS, externalBudget, tempDirectory);
+            System.out.println(formatSearchResults(search, heuristics, searchMetrics));
+            return;
+        }
+
+        if (bitStateLog2Bits != 0 && algorithm == SearchOrCheckAlgorithm.BFS) {
+            var search = new BreathFirstSearch<>(problemParser, bitStateLog2Bits, hashCount);
+            String output = formatSearchResults(search, heuristics, searchMetrics);
+            System.out.println(output + SearchResultFormat.formatBitState(search.getBitStateSet()));
+            return;
+        }
+
+        IntUniformCostSearch<String> uniformCostSearch = null;
+        if (algorithm == SearchOrCheckAlgorithm.UCS) {
+            try {
+                uniformCostSearch = new IntUniformCostSearch<>(problemParser.getStateGraph(), frontier);
+            } catch (IllegalArgumentException argumentException) {
+                System.out.println(argumentException.getMessage());
+                return;
+            }
+        }
+
         String output = switch (algorithm) {
-            case BFS -> formatSearchResults(new BreathFirstSearch<>(problemParser), heuristics);
-            case UCS -> formatSearchResults(new UniformCostSearch<>(problemParser), heuristics);
-            case ASTAR -> formatSearchResults(new AStarSearch<>(problemParser, heuristicParser), heuristics);
-            case OPTIMISTIC_CHECK -> formatCheckResults(new HeuristicsOptimisticCheck<>(problemParser, heuristicParser), heuristics);
-            case CONSISTENT_CHECK -> formatCheckResults(new HeuristicsConsistencyCheck<>(problemParser, heuristicParser), heuristics);
+            case BFS -> formatSearchResults(parallel
+                    ? new ParallelBreathFirstSearch<>(problemParser.getStateGraph())
+                    : new IntBreathFirstSearch<>(problemParser.getStateGraph()), heuristics, searchMetrics);
+            case UCS -> formatSearchResults(uniformCostSearch, heuristics, searchMetrics);
+            case BIBFS -> formatSearchResults(new BidirectionalBreathFirstSearch<>(problemParser.getStateGraph()), heuristics, searchMetrics);
+            case BIUCS -> formatSearchResults(new BidirectionalUniformCostSearch<>(problemParser.getStateGraph()), heuristics, searchMetrics);
+            case ASTAR -> formatSearchResults(new IntAStarSearch<>(problemParser.getStateGraph(), heuristicParser), heuristics, searchMetrics);
+            case IDASTAR -> formatSearchResults(new IterativeDeepeningAStarSearch<>(problemParser, heuristicParser, transpositionTableSize), heuristics, searchMetrics);
+            case WASTAR -> formatSearchResults(new WeightedAStarSearch<>(problemParser, heuristicParser, weight), heuristics, searchMetrics);
+            case ARASTAR -> formatSearchResults(new AnytimeRepairingAStarSearch<>(problemParser, heuristicParser, weight, weightStep, deadlineMillis), heuristics, searchMetrics);
+            case HDASTAR -> formatSearchResults(new HashDistributedAStarSearch<>(problemParser, heuristicParser, threads), heuristics, searchMetrics);
+            case CH -> formatSearchResults(new ContractionHierarchySearch<>(problemParser.getStateGraph(), hierarchy), heuristics, searchMetrics);
+            case LPASTAR -> formatReplanningResults(problemParser, heuristicParser, heuristics, updateLines, searchMetrics);
+            case OPTIMISTIC_CHECK -> formatCheckResults(new HeuristicsOptimisticCheck<>(problemParser, heuristicParser, true), heuristics);
+            case CONSISTENT_CHECK -> formatCheckResults(parallel
+                    ? new ParallelHeuristicsConsistencyCheck<>(problemParser, heuristicParser)
+                    : new HeuristicsConsistencyCheck<>(problemParser, heuristicParser), heuristics);
         };
 
         System.out.println(output);
     }
 
+    private static void writeSnapshot(Path file, IndexedSearchProblem<String> problem,
+                                      Heuristics<String> heuristics, Path heuristicPath) throws IOException {
+        if (heuristics == null) {
+            GraphSnapshot.write(file, problem.getStateGraph());
+            return;
+        }
+
+        var orderedStates = heuristics.getOrderedStatesByHeuristics();
+        double[] costs = new double[orderedStates.size()];
+        for (int i = 0; i < costs.length; i++)
+            costs[i] = heuristics.getHeuristicCost(orderedStates.get(i));
+        GraphSnapshot.write(file, problem.getStateGraph(), orderedStates, costs, heuristicPath.getFileName().toString());
+    }
+
     private static String formatCheckResults(IHeuristicsCheckAlgorithm<String> heuristicsCheckAlgorithm, Path heuristic) {
-        String output = heuristicsCheckAlgorithm.checkAndGetOutput();
+        return SearchResultFormat.formatCheck(heuristicsCheckAlgorithm, heuristic.getFileName().toString());
+    }
 
-        return String.format("# %s %s\n", heuristicsCheckAlgorithm.getName(), heuristic.getFileName()) +
-                output;
+    /**
+     * Searches with LPA-star, then changes costs of transitions given by lines
+     * <code>source target cost</code> one by one and searches again after each change.
+     * Costs are changed on a copy of the graph.
+     */
+    private static String formatReplanningResults(IndexedSearchProblem<String> problem, Heuristics<String> heuristics,
+                                                  Path heuristicPath, List<String> updateLines, SearchMetrics metrics) {
+        var search = new LifelongPlanningAStarSearch<>(problem.getStateGraph().copy(), heuristics);
+        StringBuilder output = new StringBuilder(formatSearchResults(search, heuristicPath, metrics));
+        for (String line : updateLines) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 3) return output + "Wrong update: " + line;
+            try {
+                search.updateCost(parts[0], parts[1], Double.parseDouble(parts[2]));
+            } catch (IllegalArgumentException | NoSuchElementException e) {
+                return output + "Wrong update: " + line;
+            }
+            output.append("[UPDATE]: ").append(parts[0]).append(" => ").append(parts[1])
+                    .append(" ").append(parts[2]).append("\n");
+            output.append(formatSearchResults(search, heuristicPath, metrics));
+        }
+        return output.toString();
     }
 
     public static String formatSearchResults(ISearchAlgorithm<String> algorithm, Path heuristicPath) {
+        return formatSearchResults(algorithm, heuristicPath, null);
+    }
+
+    /**
+     * Runs search and formats its results, followed by bound and duration for bounded
+     * algorithms and a JSON line of metrics if they are given.
+     */
+    public static String formatSearchResults(ISearchAlgorithm<String> algorithm, Path heuristicPath, SearchMetrics metrics) {
+        if (metrics != null) algorithm.setSearchListener(metrics);
+        long startNanos = System.nanoTime();
         var node = algorithm.search();
-        StringBuilder stringBuilder = new StringBuilder(256);
-
-        //Line 1
-        stringBuilder.append("# ").append(algorithm.getName());
-        if (algorithm.getName().equals("A-STAR"))
-            stringBuilder.append(" ").append(heuristicPath.getFileName().toString());
-        stringBuilder.append("\n");
-
-        //Line 2
-        stringBuilder.append(String.format("[FOUND_SOLUTION]: %s\n", node != null ? "yes" : "no"));
-
-        //Line 3
-        stringBuilder.append(String.format("[STATES_VISITED]: %d\n", algorithm.visitedStates()));
-
-        //Line 4
-        int pathLength = 0;
-        if (node != null)
-            pathLength = node.nodePathLength();
-        stringBuilder.append(String.format("[PATH_LENGTH]: %d\n", pathLength));
-
-        //Line 5
-        String cost = "0";
-        if (node != null)
-            cost = node.getFormattedCost();
-        stringBuilder.append(String.format("[TOTAL_COST]: %s\n", cost));
-
-        //Line 6
-        String path = "";
-        if (node != null)
-            path = node.nodePath();
-        stringBuilder.append(String.format("[PATH]: %s\n", path));
-
-        return stringBuilder.toString();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        String heuristicLabel = heuristicPath != null ? heuristicPath.getFileName().toString() : null;
+
+        String output = SearchResultFormat.format(algorithm, new SearchResult<>(node, algorithm.visitedStates()), heuristicLabel);
+        if (algorithm instanceof IBoundedSearchAlgorithm)
+            output += SearchResultFormat.formatBound(((IBoundedSearchAlgorithm<String>) algorithm).suboptimalityBound(), elapsedNanos);
+        return metrics != null ? output + metrics.toJson(algorithm.getName()) + "\n" : output;
     }
 
 
     public enum SearchOrCheckAlgorithm {
-        BFS,
-        UCS,
-        ASTAR,
-        OPTIMISTIC_CHECK,
-        CONSISTENT_CHECK
+        BFS(false),
+        UCS(false),
+        BIBFS(false),
+        BIUCS(false),
+        ASTAR(true),
+        IDASTAR(true),
+        WASTAR(true),
+        ARASTAR(true),
+        HDASTAR(true),
+        CH(false),
+        LPASTAR(true),
+        OPTIMISTIC_CHECK(true),
+        CONSISTENT_CHECK(true);
+
+        private final boolean informed;
+
+        SearchOrCheckAlgorithm(boolean informed) {
+            this.informed = informed;
+        }
+
+        /**
+         * Checks if algorithm needs heuristics.
+         */
+        public boolean isInformed() {
+            return informed;
+        }
     }
 }
@@ -0,0 +1,172 @@
+package ui.blind;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.IntSearchWorkspace;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.StateGraph;
+
+/**
+ * Bidirectional Breath-First-Search implementing {@link ISearchAlgorithm} on a {@link StateGraph}.
+ * One search goes forward from the start and other goes backward over incoming edges from all
+ * goals at once. Whole levels are expanded on the side with smaller frontier and search stops
+ * after the level in which the two searches first meet, taking the shortest connection found.
+ * <p>
+ * Visited states are counted as expanded states of both searches.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class BidirectionalBreathFirstSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final StateGraph<T> graph;
+    private IntSearchWorkspace forward;
+    private IntSearchWorkspace backward;
+    private int[] forwardDepths;
+    private int[] backwardDepths;
+    private int[] frontier;
+    private int[] next;
+    private int[] backwardFrontier;
+    private int[] backwardNext;
+    private int meeting;
+    private int meetingLength;
+    private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+
+    public BidirectionalBreathFirstSearch(StateGraph<T> graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        int start = graph.idOf(startingState);
+        if (start < 0) return null;
+        listener.searchStarted();
+
+        if (forward == null) {
+            int stateCount = graph.stateCount();
+            forward = new IntSearchWorkspace(stateCount);
+            backward = new IntSearchWorkspace(stateCount);
+            forwardDepths = new int[stateCount];
+            backwardDepths = new int[stateCount];
+            frontier = new int[stateCount];
+            next = new int[stateCount];
+            backwardFrontier = new int[stateCount];
+            backwardNext = new int[stateCount];
+        }
+        forward.reset();
+        backward.reset();
+        meeting = - 1;
+        meetingLength = Integer.MAX_VALUE;
+
+        int frontierSize = 0;
+        forward.discover(start, - 1, 0);
+        forwardDepths[start] = 0;
+        frontier[frontierSize++] = start;
+
+        int backwardSize = 0;
+        for (int goal : graph.goalIds()) {
+            backward.discover(goal, - 1, 0);
+            backwardDepths[goal] = 0;
+            backwardFrontier[backwardSize++] = goal;
+        }
+        if (backward.isSeen(start)) meet(start);
+
+        while (meeting < 0 && frontierSize > 0 && backwardSize > 0) {
+            if (frontierSize <= backwardSize) frontierSize = expandForward(frontierSize);
+            else backwardSize = expandBackward(backwardSize);
+            listener.openSize(frontierSize + backwardSize);
+        }
+        listener.searchFinished(meeting >= 0);
+        if (meeting < 0) return null;
+
+        visitedStates = Math.max(1, forward.closedCount() + backward.closedCount());
+        return backward.extendPath(graph, forward.buildPath(graph, meeting), meeting, false);
+    }
+
+    private int expandForward(int size) {
+        int nextSize = 0;
+        for (int i = 0; i < size; i++) {
+            int state = frontier[i];
+            forward.close(state);
+            listener.stateExpanded();
+            if (! graph.hasSuccessors(state)) continue;
+
+            double cost = forward.costOf(state);
+            for (int edge = graph.edgesBegin(state), end = graph.edgesEnd(state); edge < end; edge++) {
+                if (graph.isRepeatedEdge(edge)) continue;
+
+                int target = graph.edgeTarget(edge);
+                if (forward.isSeen(target)) continue;
+
+                forward.discover(target, state, cost + graph.edgeCost(edge));
+                forwardDepths[target] = forwardDepths[state] + 1;
+                next[nextSize++] = target;
+                listener.stateGenerated();
+                if (backward.isSeen(target)) meet(target);
+            }
+        }
+
+        int[] swap = frontier;
+        frontier = next;
+        next = swap;
+        return nextSize;
+    }
+
+    private int expandBackward(int size) {
+        int nextSize = 0;
+        for (int i = 0; i < size; i++) {
+            int state = backwardFrontier[i];
+            backward.close(state);
+            listener.stateExpanded();
+
+            double cost = backward.costOf(state);
+            for (int position = graph.inEdgesBegin(state), end = graph.inEdgesEnd(state); position < end; position++) {
+                int edge = graph.inEdge(position);
+                if (graph.isRepeatedEdge(edge)) continue;
+
+                int source = graph.edgeSource(edge);
+                if (backward.isSeen(source)) continue;
+
+                backward.discover(source, state, cost + graph.edgeCost(edge));
+                backwardDepths[source] = backwardDepths[state] + 1;
+                backwardNext[nextSize++] = source;
+                listener.stateGenerated();
+                if (forward.isSeen(source)) meet(source);
+            }
+        }
+
+        int[] swap = backwardFrontier;
+        backwardFrontier = backwardNext;
+        backwardNext = swap;
+        return nextSize;
+    }
+
+    private void meet(int state) {
+        int length = forwardDepths[state] + backwardDepths[state];
+        if (length < meetingLength) {
+            meetingLength = length;
+            meeting = state;
+        }
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return "BI-BFS";
+    }
+}
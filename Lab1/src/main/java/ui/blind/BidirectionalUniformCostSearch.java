@@ -0,0 +1,154 @@
+package ui.blind;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.IntMinQueue;
+import ui.common.IntSearchWorkspace;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.StateGraph;
+
+/**
+ * Bidirectional Uniform-Cost-Search implementing {@link ISearchAlgorithm} on a {@link StateGraph}.
+ * Forward search from the start and backward search over incoming edges from all goals
+ * take turns by expanding the side whose cheapest open state is cheaper. Every time a state
+ * reached by one side is known to the other, the connecting path is remembered, and search
+ * stops once sum of cheapest open costs of both sides is not lower than the best connection,
+ * which makes the found path optimal.
+ * <p>
+ * Visited states are counted as expanded states of both searches.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class BidirectionalUniformCostSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final StateGraph<T> graph;
+    private IntSearchWorkspace forward;
+    private IntSearchWorkspace backward;
+    private IntMinQueue forwardOpen;
+    private IntMinQueue backwardOpen;
+    private int meeting;
+    private double meetingCost;
+    private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+
+    public BidirectionalUniformCostSearch(StateGraph<T> graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        int start = graph.idOf(startingState);
+        if (start < 0) return null;
+        listener.searchStarted();
+
+        if (forward == null) {
+            forward = new IntSearchWorkspace(graph.stateCount());
+            backward = new IntSearchWorkspace(graph.stateCount());
+            forwardOpen = new IntMinQueue(graph);
+            backwardOpen = new IntMinQueue(graph);
+        }
+        forward.reset();
+        backward.reset();
+        forwardOpen.clear();
+        backwardOpen.clear();
+        meeting = - 1;
+        meetingCost = Double.POSITIVE_INFINITY;
+
+        forward.discover(start, - 1, 0);
+        forwardOpen.offer(0, start, - 1);
+        for (int goal : graph.goalIds()) {
+            backward.discover(goal, - 1, 0);
+            backwardOpen.offer(0, goal, - 1);
+        }
+        if (backward.isSeen(start)) meet(start);
+
+        while (! forwardOpen.isEmpty() && ! backwardOpen.isEmpty()
+                && forwardOpen.peekKey() + backwardOpen.peekKey() < meetingCost) {
+            if (forwardOpen.peekKey() <= backwardOpen.peekKey()) expandForward();
+            else expandBackward();
+            listener.openSize(forwardOpen.size() + backwardOpen.size());
+        }
+        listener.searchFinished(meeting >= 0);
+        if (meeting < 0) return null;
+
+        visitedStates = Math.max(1, forward.closedCount() + backward.closedCount());
+        return backward.extendPath(graph, forward.buildPath(graph, meeting), meeting, true);
+    }
+
+    private void expandForward() {
+        double cost = forwardOpen.peekKey();
+        int state = forwardOpen.peekState();
+        forwardOpen.removeFirst();
+        if (cost > forward.costOf(state) || ! forward.close(state)) {
+            listener.duplicateSkipped();
+            return;
+        }
+        listener.stateExpanded();
+        if (! graph.hasSuccessors(state)) return;
+
+        for (int edge = graph.edgesBegin(state), end = graph.edgesEnd(state); edge < end; edge++) {
+            int target = graph.edgeTarget(edge);
+            double nextCost = cost + graph.edgeCost(edge);
+            if (forward.isClosed(target) || (forward.isSeen(target) && forward.costOf(target) <= nextCost))
+                continue;
+
+            forward.discover(target, state, nextCost);
+            forwardOpen.offer(nextCost, target, state);
+            listener.stateGenerated();
+            if (backward.isSeen(target)) meet(target);
+        }
+    }
+
+    private void expandBackward() {
+        double cost = backwardOpen.peekKey();
+        int state = backwardOpen.peekState();
+        backwardOpen.removeFirst();
+        if (cost > backward.costOf(state) || ! backward.close(state)) {
+            listener.duplicateSkipped();
+            return;
+        }
+        listener.stateExpanded();
+
+        for (int position = graph.inEdgesBegin(state), end = graph.inEdgesEnd(state); position < end; position++) {
+            int edge = graph.inEdge(position);
+            int source = graph.edgeSource(edge);
+            double nextCost = cost + graph.edgeCost(edge);
+            if (backward.isClosed(source) || (backward.isSeen(source) && backward.costOf(source) <= nextCost))
+                continue;
+
+            backward.discover(source, state, nextCost);
+            backwardOpen.offer(nextCost, source, state);
+            listener.stateGenerated();
+            if (forward.isSeen(source)) meet(source);
+        }
+    }
+
+    private void meet(int state) {
+        double cost = forward.costOf(state) + backward.costOf(state);
+        if (cost < meetingCost) {
+            meetingCost = cost;
+            meeting = state;
+        }
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return "BI-UCS";
+    }
+}
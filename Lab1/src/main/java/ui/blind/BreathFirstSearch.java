@@ -1,14 +1,22 @@
 package ui.blind;
 
+import ui.common.BitStateSet;
 import ui.common.ISearchAlgorithm;
 import ui.common.NodeCost;
 import ui.common.SearchProblem;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
 
 import java.util.*;
 
 /**
  * Search algorithm implementing {@link ISearchAlgorithm} with Breath-First-Search
  * blind approach. States and their values come in as {@link SearchProblem} type.
+ * <p>
+ * Visited states are kept in a {@link HashSet}, or in a {@link BitStateSet} of fixed size
+ * when bit-state hashing is used. States that collide in the bit array are skipped, so the
+ * search may then miss states and find a longer path or none. Estimates of states missed by
+ * the last finished search are available through {@link #getBitStateSet()}.
  *
  * @author MatejCubek
  * @project UILab1
@@ -16,17 +24,50 @@ import java.util.*;
  */
 public class BreathFirstSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
     private final SearchProblem<T> searchProblem;
+    private final int log2Bits;
+    private final int hashCount;
     private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+    private volatile BitStateSet<T> bitStateSet;
 
     public BreathFirstSearch(SearchProblem<T> searchProblem) {
+        this(searchProblem, 0, 0);
+    }
+
+    /**
+     * Search with bit-state hashing, see {@link BitStateSet}.
+     *
+     * @param log2Bits  base 2 logarithm of number of bits used for visited states, 0 for exact search
+     * @param hashCount number of hash functions
+     */
+    public BreathFirstSearch(SearchProblem<T> searchProblem, int log2Bits, int hashCount) {
+        if (log2Bits != 0) BitStateSet.checkArguments(log2Bits, hashCount);
         this.searchProblem = searchProblem;
+        this.log2Bits = log2Bits;
+        this.hashCount = hashCount;
     }
 
     @SuppressWarnings("DuplicatedCode")
     @Override
     public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        BitStateSet<T> bits = log2Bits != 0 ? new BitStateSet<>(log2Bits, hashCount) : null;
+        SearchResult<T> result = run(startingState, listener, bits == null ? new HashSet<>() : new BitStateView<>(bits));
+        bitStateSet = bits;
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startingState, SearchListener listener, Set<T> closed) {
         Queue<NodeCost<T>> open = new ArrayDeque<>();
-        Set<T> closed = new HashSet<>();
 
         open.add(new NodeCost<>(null, startingState, 0));
 
@@ -35,23 +76,29 @@ public class BreathFirstSearch<T extends Comparable<T>> implements ISearchAlgori
             var currentNode = open.poll();
             T state = currentNode.getState();
 
-            if(!closed.add(state)) continue;
+            if(!closed.add(state)) {
+                listener.duplicateSkipped();
+                continue;
+            }
 
             if (searchProblem.isGoal(state)) {
-                visitedStates = closed.size();
-                return currentNode;
+                return new SearchResult<>(currentNode, closed.size());
             }
 
+            listener.stateExpanded();
             var iterable = searchProblem.getSuccessorsSortedByNameOnly(state);
             if (iterable == null) continue;
 
             for (var next : iterable) {
-                if (! closed.contains(next.getState()))
+                if (! closed.contains(next.getState())) {
                     open.add(new NodeCost<>(currentNode, next.getState(), currentNode.getCost() + next.getCost()));
+                    listener.stateGenerated();
+                }
             }
+            listener.openSize(open.size());
         }
 
-        return null;
+        return new SearchResult<>(null, closed.size());
     }
 
     @Override
@@ -59,6 +106,11 @@ public class BreathFirstSearch<T extends Comparable<T>> implements ISearchAlgori
         return search(searchProblem.getStart());
     }
 
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
     @Override
     public int visitedStates() {
         return visitedStates;
@@ -68,4 +120,45 @@ public class BreathFirstSearch<T extends Comparable<T>> implements ISearchAlgori
     public String getName() {
         return "BFS";
     }
+
+    /**
+     * Visited states of the search that finished last when bit-state hashing is used, or
+     * <code>null</code> without it. Set is stored once search ends, so with searches running
+     * concurrently it belongs to whichever ended last.
+     */
+    public BitStateSet<T> getBitStateSet() {
+        return bitStateSet;
+    }
+
+    /**
+     * Bit-state set seen as the few set operations search uses, it can not be iterated.
+     */
+    private static class BitStateView<T> extends AbstractSet<T> {
+        private final BitStateSet<T> bits;
+
+        private BitStateView(BitStateSet<T> bits) {
+            this.bits = bits;
+        }
+
+        @Override
+        public boolean add(T state) {
+            return bits.add(state);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object state) {
+            return bits.contains((T) state);
+        }
+
+        @Override
+        public int size() {
+            return bits.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            throw new UnsupportedOperationException("States of bit-state set are not stored");
+        }
+    }
 }
@@ -0,0 +1,542 @@
+package ui.blind;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchProblem;
+import ui.common.SearchResult;
+import ui.common.StateCodec;
+import ui.common.StateCost;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Breath-First-Search or Uniform-Cost-Search implementing {@link ISearchAlgorithm} that keeps
+ * open and closed states on disk, for state spaces that do not fit in memory. States are written
+ * with a {@link StateCodec} to files in a temporary directory, which is deleted after search.
+ * <p>
+ * Open states are grouped into layers, by depth for BFS and by path cost for UCS. Generated
+ * states are buffered in memory and when the buffer reaches its budget, all of them are sorted by
+ * layer and state and written to one run file. Layer with the lowest depth or cost is expanded
+ * next: its part of every run is merged keeping the cheapest entry of every state, and states
+ * already closed are dropped by merging against sorted runs of closed states (delayed duplicate
+ * detection). What is left becomes a new closed run and is expanded. Successors reached by an edge
+ * of cost 0 go to a new layer of the same cost, which is expanded next.
+ * <p>
+ * Buffered states of the expanded layer count against the budget until it is expanded, and are
+ * written to disk first when they take more than half of it. No merge reads more than
+ * {@value #MAX_FAN_IN} runs at once, runs are merged in several passes when there are more.
+ * <p>
+ * Layers are expanded in order of states, so the found path is as short or as cheap as with
+ * {@link BreathFirstSearch} or {@link UniformCostSearch}, but when several are equally good,
+ * another one may be found. Visited states are states closed up to and including found goal.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ExternalMemorySearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private static final int MAX_FAN_IN = 16;
+
+    private final SearchProblem<T> searchProblem;
+    private final StateCodec<T> codec;
+    private final boolean byCost;
+    private final int memoryBudget;
+    private final Path tempDirectory;
+    private SearchListener listener = SearchListener.NOOP;
+    private int visitedStates = - 1;
+
+    /**
+     * @param byCost        <code>true</code> for Uniform-Cost-Search, <code>false</code> for Breath-First-Search
+     * @param memoryBudget  number of generated states buffered in memory before they are written to disk
+     * @param tempDirectory directory in which search creates its own temporary directory
+     */
+    public ExternalMemorySearch(SearchProblem<T> searchProblem, StateCodec<T> codec, boolean byCost,
+                                int memoryBudget, Path tempDirectory) {
+        if (memoryBudget < 1) throw new IllegalArgumentException("Memory budget must be at least one state");
+        this.searchProblem = searchProblem;
+        this.codec = codec;
+        this.byCost = byCost;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory(tempDirectory, "search");
+            SearchResult<T> result = new Search(directory, listener).run(startingState);
+            listener.searchFinished(result.isFound());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (directory != null) delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        } catch (IOException ignored) {
+            //Leftover files stay in temporary directory
+        }
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(searchProblem.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return byCost ? "UCS" : "BFS";
+    }
+
+    /**
+     * State reached from parent with cost of path from start, in layer with given key.
+     */
+    private static final class Entry<T> {
+        private final double key;
+        private final T state;
+        private final T parent;
+        private final double cost;
+
+        private Entry(double key, T state, T parent, double cost) {
+            this.key = key;
+            this.state = state;
+            this.parent = parent;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Entries ordered by state and then by cost, so the first entry of a state is the cheapest.
+     */
+    private int compare(Entry<T> entry1, Entry<T> entry2) {
+        int result = entry1.state.compareTo(entry2.state);
+        if (result != 0) return result;
+        result = Double.compare(entry1.cost, entry2.cost);
+        if (result != 0 || entry1.parent == entry2.parent) return result;
+        if (entry1.parent == null) return - 1;
+        if (entry2.parent == null) return 1;
+        return entry1.parent.compareTo(entry2.parent);
+    }
+
+    /**
+     * Entries ordered by layer and then as by {@link #compare(Entry, Entry)}.
+     */
+    private int compareByLayer(Entry<T> entry1, Entry<T> entry2) {
+        int result = Double.compare(entry1.key, entry2.key);
+        return result != 0 ? result : compare(entry1, entry2);
+    }
+
+    /**
+     * Sorted run file. Runs of open states are read one layer at a time, from the offset of the
+     * first entry not read yet.
+     */
+    private static final class Run {
+        private final Path path;
+        private long offset;
+        private double nextKey = Double.NaN;
+
+        private Run(Path path) {
+            this.path = path;
+        }
+
+        private boolean isEmpty() {
+            return Double.isNaN(nextKey);
+        }
+    }
+
+    /**
+     * Files and buffers of one search.
+     */
+    private final class Search {
+        private final Path directory;
+        private final SearchListener listener;
+        private final TreeMap<Double, List<Entry<T>>> buffers = new TreeMap<>();
+        private final List<Run> openRuns = new ArrayList<>();
+        private final List<Run> closedRuns = new ArrayList<>();
+        private int buffered;
+        private int expandedBuffer;
+        private int fileCount;
+        private int closedCount;
+
+        private Search(Path directory, SearchListener listener) {
+            this.directory = directory;
+            this.listener = listener;
+        }
+
+        private SearchResult<T> run(T startingState) throws IOException {
+            add(new Entry<>(0.0, startingState, null, 0));
+
+            double key;
+            while (! Double.isNaN(key = nextKey())) {
+                mergeRuns(openRuns, ExternalMemorySearch.this::compareByLayer);
+                mergeRuns(closedRuns, ExternalMemorySearch.this::compare);
+
+                Entry<T> goal = expand(key);
+                if (goal != null) return new SearchResult<>(buildPath(goal), closedCount);
+            }
+            return new SearchResult<>(null, closedCount);
+        }
+
+        /**
+         * Lowest key of a buffered or written layer, or NaN if no states are open.
+         */
+        private double nextKey() {
+            double key = buffers.isEmpty() ? Double.NaN : buffers.firstKey();
+            for (Run run : openRuns) {
+                if (Double.isNaN(key) || Double.compare(run.nextKey, key) < 0) key = run.nextKey;
+            }
+            return key;
+        }
+
+        /**
+         * Merges layer into states not closed yet, closes and expands them.
+         *
+         * @return entry of first goal closed, or <code>null</code>
+         */
+        private Entry<T> expand(double key) throws IOException {
+            List<Entry<T>> buffer = buffers.get(key);
+            if (buffer != null && buffer.size() > memoryBudget / 2) spill();
+            buffer = buffers.remove(key);
+            if (buffer == null) buffer = new ArrayList<>();
+            buffer.sort(ExternalMemorySearch.this::compare);
+            expandedBuffer = buffer.size();
+
+            List<Cursor> sources = new ArrayList<>();
+            List<Cursor> closed = new ArrayList<>();
+            Run closedRun = newRun();
+            try {
+                sources.add(new Cursor(buffer.iterator()));
+                for (Run run : openRuns) {
+                    if (Double.compare(run.nextKey, key) == 0) sources.add(new Cursor(run, key));
+                }
+                for (Run run : closedRuns)
+                    closed.add(new Cursor(run));
+
+                closedRuns.add(closedRun);
+                try (RunWriter writer = new RunWriter(closedRun.path)) {
+                    Merger merger = new Merger(sources, ExternalMemorySearch.this::compare);
+                    Entry<T> entry;
+                    T previous = null;
+                    while ((entry = merger.next()) != null) {
+                        if ((previous != null && previous.compareTo(entry.state) == 0) || isClosed(closed, entry.state)) {
+                            listener.duplicateSkipped();
+                            continue;
+                        }
+                        previous = entry.state;
+
+                        writer.write(entry);
+                        closedCount++;
+                        if (searchProblem.isGoal(entry.state)) return entry;
+
+                        listener.stateExpanded();
+                        for (StateCost<T> successor : searchProblem.getSuccessors(entry.state)) {
+                            double cost = entry.cost + successor.getCost();
+                            add(new Entry<>(byCost ? cost : key + 1, successor.getState(), entry.state, cost));
+                            listener.stateGenerated();
+                        }
+                    }
+                }
+            } finally {
+                for (Cursor cursor : sources)
+                    cursor.close();
+                for (Cursor cursor : closed)
+                    cursor.close();
+                buffered -= expandedBuffer;
+                expandedBuffer = 0;
+            }
+
+            for (Iterator<Run> iterator = openRuns.iterator(); iterator.hasNext(); ) {
+                Run run = iterator.next();
+                if (! run.isEmpty()) continue;
+                Files.delete(run.path);
+                iterator.remove();
+            }
+            return null;
+        }
+
+        private boolean isClosed(List<Cursor> closed, T state) throws IOException {
+            for (Cursor cursor : closed) {
+                while (cursor.current != null && cursor.current.state.compareTo(state) < 0)
+                    cursor.advance();
+                if (cursor.current != null && cursor.current.state.compareTo(state) == 0) return true;
+            }
+            return false;
+        }
+
+        private void add(Entry<T> entry) throws IOException {
+            buffers.computeIfAbsent(entry.key, k -> new ArrayList<>()).add(entry);
+            if (++ buffered >= memoryBudget) spill();
+        }
+
+        /**
+         * Writes all buffered states, except those of the layer being expanded, to one new run
+         * sorted by layer and state.
+         */
+        private void spill() throws IOException {
+            if (buffers.isEmpty()) return;
+
+            Run run = newRun();
+            try (RunWriter writer = new RunWriter(run.path)) {
+                for (List<Entry<T>> buffer : buffers.values()) {
+                    buffer.sort(ExternalMemorySearch.this::compare);
+                    for (Entry<T> entry : buffer)
+                        writer.write(entry);
+                }
+            }
+            run.nextKey = buffers.firstKey();
+            openRuns.add(run);
+            buffers.clear();
+            buffered = expandedBuffer;
+        }
+
+        /**
+         * Merges runs {@value #MAX_FAN_IN} at a time until there are at most that many.
+         * Runs of open states are merged from the first entry not read yet.
+         */
+        private void mergeRuns(List<Run> runs, Comparator<Entry<T>> order) throws IOException {
+            while (runs.size() > MAX_FAN_IN) {
+                List<Run> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+                runs.subList(0, MAX_FAN_IN).clear();
+
+                Run merged = newRun();
+                List<Cursor> cursors = new ArrayList<>();
+                try (RunWriter writer = new RunWriter(merged.path)) {
+                    for (Run run : group)
+                        cursors.add(new Cursor(run));
+                    Merger merger = new Merger(cursors, order);
+                    Entry<T> entry;
+                    while ((entry = merger.next()) != null) {
+                        if (merged.isEmpty()) merged.nextKey = entry.key;
+                        writer.write(entry);
+                    }
+                } finally {
+                    for (Cursor cursor : cursors)
+                        cursor.close();
+                }
+                for (Run run : group)
+                    Files.delete(run.path);
+                runs.add(merged);
+            }
+        }
+
+        /**
+         * Follows parents through closed runs back to start.
+         */
+        private NodeCost<T> buildPath(Entry<T> goal) throws IOException {
+            Deque<Entry<T>> path = new ArrayDeque<>();
+            for (Entry<T> entry = goal; entry != null; entry = entry.parent == null ? null : findClosed(entry.parent))
+                path.push(entry);
+
+            NodeCost<T> node = null;
+            for (Entry<T> entry : path)
+                node = new NodeCost<>(node, entry.state, entry.cost);
+            return node;
+        }
+
+        private Entry<T> findClosed(T state) throws IOException {
+            for (Run run : closedRuns) {
+                try (Cursor cursor = new Cursor(run)) {
+                    while (cursor.current != null && cursor.current.state.compareTo(state) < 0)
+                        cursor.advance();
+                    if (cursor.current != null && cursor.current.state.compareTo(state) == 0) return cursor.current;
+                }
+            }
+            throw new IllegalStateException("Closed state " + state + " not found on disk");
+        }
+
+        private Run newRun() {
+            return new Run(directory.resolve("run-" + fileCount++));
+        }
+    }
+
+    /**
+     * Merges sorted cursors into one sorted sequence of entries.
+     */
+    private final class Merger {
+        private final PriorityQueue<Cursor> queue;
+
+        private Merger(List<Cursor> cursors, Comparator<Entry<T>> order) {
+            queue = new PriorityQueue<>(Math.max(1, cursors.size()), (a, b) -> order.compare(a.current, b.current));
+            for (Cursor cursor : cursors) {
+                if (cursor.current != null) queue.add(cursor);
+            }
+        }
+
+        private Entry<T> next() throws IOException {
+            Cursor cursor = queue.poll();
+            if (cursor == null) return null;
+
+            Entry<T> entry = cursor.current;
+            cursor.advance();
+            if (cursor.current != null) queue.add(cursor);
+            return entry;
+        }
+    }
+
+    /**
+     * Sorted sequence of entries read from a run file or from a sorted buffer. Cursor over one
+     * layer of a run stops at the first entry of another layer and leaves the run to be read
+     * from that entry.
+     */
+    private final class Cursor implements Closeable {
+        private final CountingInputStream counter;
+        private final DataInputStream in;
+        private final Iterator<Entry<T>> iterator;
+        private final Run layerRun;
+        private final double key;
+        private Entry<T> current;
+
+        /**
+         * Cursor over all entries of run not read yet.
+         */
+        private Cursor(Run run) throws IOException {
+            this(run, null, Double.NaN);
+        }
+
+        /**
+         * Cursor over entries of run in layer with given key.
+         */
+        private Cursor(Run run, double key) throws IOException {
+            this(run, run, key);
+        }
+
+        private Cursor(Run run, Run layerRun, double key) throws IOException {
+            InputStream file = Files.newInputStream(run.path);
+            try {
+                file.skipNBytes(run.offset);
+            } catch (IOException e) {
+                file.close();
+                throw e;
+            }
+            this.counter = new CountingInputStream(new BufferedInputStream(file, 1 << 16), run.offset);
+            this.in = new DataInputStream(counter);
+            this.iterator = null;
+            this.layerRun = layerRun;
+            this.key = key;
+            advance();
+        }
+
+        private Cursor(Iterator<Entry<T>> iterator) throws IOException {
+            this.counter = null;
+            this.in = null;
+            this.iterator = iterator;
+            this.layerRun = null;
+            this.key = Double.NaN;
+            advance();
+        }
+
+        private void advance() throws IOException {
+            if (iterator != null) {
+                current = iterator.hasNext() ? iterator.next() : null;
+                return;
+            }
+            if (current == null && layerRun != null && Double.compare(layerRun.nextKey, key) != 0) return;
+
+            long offset = counter.count;
+            if (! in.readBoolean()) {
+                current = null;
+                if (layerRun != null) layerRun.nextKey = Double.NaN;
+                return;
+            }
+            double entryKey = in.readDouble();
+            T state = codec.read(in);
+            T parent = in.readBoolean() ? codec.read(in) : null;
+            current = new Entry<>(entryKey, state, parent, in.readDouble());
+
+            if (layerRun != null && Double.compare(entryKey, key) != 0) {
+                current = null;
+                layerRun.offset = offset;
+                layerRun.nextKey = entryKey;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) in.close();
+        }
+    }
+
+    /**
+     * Counts bytes read through it, so cursor knows offset of an entry in its run.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in, long count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) count++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) count += read;
+            return read;
+        }
+    }
+
+    /**
+     * Writes entries to a run file, ended by a marker.
+     */
+    private final class RunWriter implements Closeable {
+        private final DataOutputStream out;
+
+        private RunWriter(Path run) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16));
+        }
+
+        private void write(Entry<T> entry) throws IOException {
+            out.writeBoolean(true);
+            out.writeDouble(entry.key);
+            codec.write(out, entry.state);
+            out.writeBoolean(entry.parent != null);
+            if (entry.parent != null) codec.write(out, entry.parent);
+            out.writeDouble(entry.cost);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.writeBoolean(false);
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ui.blind;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.IntSearchWorkspace;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateGraph;
+
+/**
+ * Breath-First-Search implementing {@link ISearchAlgorithm} that works directly on
+ * integer state ids of a {@link StateGraph}. Gives the same results as
+ * {@link BreathFirstSearch} but keeps open and closed states in primitive arrays
+ * and creates {@link NodeCost} objects only for the path of found goal.
+ * Every thread gets its own workspace, so one instance can serve concurrent {@link #run(Object)} calls.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IntBreathFirstSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final StateGraph<T> graph;
+    private final ThreadLocal<Context> contexts;
+    private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+
+    public IntBreathFirstSearch(StateGraph<T> graph) {
+        this.graph = graph;
+        this.contexts = ThreadLocal.withInitial(() -> new Context(graph.stateCount()));
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startingState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startingState, SearchListener listener) {
+        int start = graph.idOf(startingState);
+        if (start < 0) return new SearchResult<>(null, 0);
+
+        Context context = contexts.get();
+        IntSearchWorkspace workspace = context.workspace;
+        int[] queue = context.queue;
+        workspace.reset();
+
+        int head = 0, tail = 0;
+        workspace.discover(start, - 1, 0);
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int state = queue[head++];
+
+            if (graph.isGoal(state))
+                return new SearchResult<>(workspace.buildPath(graph, state), head);
+
+            listener.stateExpanded();
+            if (! graph.hasSuccessors(state)) continue;
+
+            double cost = workspace.costOf(state);
+            for (int edge = graph.edgesBegin(state), end = graph.edgesEnd(state); edge < end; edge++) {
+                if (graph.isRepeatedEdge(edge)) continue;
+
+                int next = graph.edgeTarget(edge);
+                if (workspace.isSeen(next)) continue;
+
+                workspace.discover(next, state, cost + graph.edgeCost(edge));
+                queue[tail++] = next;
+                listener.stateGenerated();
+            }
+            listener.openSize(tail - head);
+        }
+
+        return new SearchResult<>(null, head);
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return "BFS";
+    }
+
+    /**
+     * Arrays used by searches of one thread.
+     */
+    private static class Context {
+        private final IntSearchWorkspace workspace;
+        private final int[] queue;
+
+        private Context(int stateCount) {
+            workspace = new IntSearchWorkspace(stateCount);
+            queue = new int[stateCount];
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ui.blind;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.IntFrontier;
+import ui.common.IntSearchWorkspace;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateGraph;
+
+/**
+ * Uniform-Cost-Search implementing {@link ISearchAlgorithm} that works directly on
+ * integer state ids of a {@link StateGraph}. Gives the same results as
+ * {@link UniformCostSearch} but keeps open states in a primitive heap and closed states
+ * in a bitmap, creating {@link NodeCost} objects only for the path of found goal.
+ * Open list can be replaced by buckets of {@link IntFrontier.Kind} when all edge costs are integral.
+ * They find paths of the same cost, but when a state is reached by two equally cheap paths
+ * they may keep the other one.
+ * Workspace and heap are kept per thread, which makes {@link #run(Object)} safe to call concurrently.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IntUniformCostSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final StateGraph<T> graph;
+    private final ThreadLocal<Context> contexts;
+    private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+
+    public IntUniformCostSearch(StateGraph<T> graph) {
+        this(graph, IntFrontier.Kind.HEAP);
+    }
+
+    /**
+     * @param frontier kind of open list
+     * @throws IllegalArgumentException if open list needs integral costs and graph has others
+     */
+    public IntUniformCostSearch(StateGraph<T> graph, IntFrontier.Kind frontier) {
+        if (frontier != IntFrontier.Kind.AUTO && frontier != IntFrontier.Kind.HEAP && graph.maxIntegralCost() < 0)
+            throw new IllegalArgumentException(frontier + " frontier needs non-negative integral costs");
+        this.graph = graph;
+        this.contexts = ThreadLocal.withInitial(() -> new Context(graph, frontier));
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startingState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startingState, SearchListener listener) {
+        int start = graph.idOf(startingState);
+        if (start < 0) return new SearchResult<>(null, 0);
+
+        Context context = contexts.get();
+        IntSearchWorkspace workspace = context.workspace;
+        IntFrontier open = context.open;
+        workspace.reset();
+        open.clear();
+
+        open.offer(0, start, - 1);
+
+        while (! open.isEmpty()) {
+            double cost = open.peekKey();
+            int state = open.peekState();
+            int parent = open.peekValue();
+            open.removeFirst();
+
+            if (! workspace.close(state)) {
+                listener.duplicateSkipped();
+                continue;
+            }
+            workspace.discover(state, parent, cost);
+
+            if (graph.isGoal(state))
+                return new SearchResult<>(workspace.buildPath(graph, state), workspace.closedCount());
+
+            listener.stateExpanded();
+            if (! graph.hasSuccessors(state)) continue;
+
+            for (int i = graph.edgesBegin(state), end = graph.edgesEnd(state); i < end; i++) {
+                int edge = graph.edgeByCostName(i);
+                int next = graph.edgeTarget(edge);
+                if (! workspace.isClosed(next)) {
+                    open.offer(cost + graph.edgeCost(edge), next, state);
+                    listener.stateGenerated();
+                }
+            }
+            listener.openSize(open.size());
+        }
+
+        return new SearchResult<>(null, workspace.closedCount());
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return "UCS";
+    }
+
+    /**
+     * Workspace and open list used by searches of one thread.
+     */
+    private static class Context {
+        private final IntSearchWorkspace workspace;
+        private final IntFrontier open;
+
+        private Context(StateGraph<?> graph, IntFrontier.Kind frontier) {
+            workspace = new IntSearchWorkspace(graph.stateCount());
+            open = frontier.create(graph);
+        }
+    }
+}
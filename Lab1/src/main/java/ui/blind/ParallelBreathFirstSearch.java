@@ -0,0 +1,347 @@
+package ui.blind;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Level synchronous Breath-First-Search implementing {@link ISearchAlgorithm} that expands
+ * whole levels of a {@link StateGraph} in parallel on a {@link ForkJoinPool}. Discovered states
+ * are marked in a bitmap of atomic words.
+ * <p>
+ * Level is expanded top-down, from states of the level to their successors, while it is small.
+ * Once edges leaving the level outnumber edges of undiscovered states, levels are expanded
+ * bottom-up instead, with every undiscovered state looking for a predecessor in the level,
+ * and top-down again when levels shrink (direction optimizing BFS).
+ * <p>
+ * Gives the same results as {@link IntBreathFirstSearch}, including number of visited states.
+ * Parent of a state is the one earliest in its level, and next level is ordered by parents and
+ * then by name, which is the order sequential search puts states in its queue. Bottom-up steps
+ * therefore check all predecessors of a state instead of stopping at the first one found.
+ * <p>
+ * Only start and end of search are reported to a {@link SearchListener}.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ParallelBreathFirstSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private static final int CHUNK_SIZE = 1024;
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final StateGraph<T> graph;
+    private final ForkJoinPool pool;
+    private SearchListener listener = SearchListener.NOOP;
+    private int visitedStates = - 1;
+
+    public ParallelBreathFirstSearch(StateGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBreathFirstSearch(StateGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        int start = graph.idOf(startingState);
+        SearchResult<T> result = start < 0 ? new SearchResult<>(null, 0) : new Search(start).run();
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return "BFS";
+    }
+
+    /**
+     * State of one search.
+     */
+    private class Search {
+        private final int stateCount = graph.stateCount();
+        private final AtomicLongArray discovered = new AtomicLongArray((stateCount + 63) >>> 6);
+        private final AtomicIntegerArray parentPositions = new AtomicIntegerArray(stateCount);
+        private final int[] levels = new int[stateCount];
+        private final int[] positions = new int[stateCount];
+        private final int[] parents = new int[stateCount];
+
+        private int[] frontier;
+        private int level;
+        private long frontierEdges;
+        private int[] statesByRank;
+
+        private Search(int start) {
+            Arrays.fill(levels, - 1);
+            frontier = new int[]{start};
+            levels[start] = 0;
+            positions[start] = 0;
+            parents[start] = - 1;
+            markDiscovered(start);
+            frontierEdges = degree(start);
+        }
+
+        private SearchResult<T> run() {
+            for (int i = 0; i < stateCount; i++)
+                parentPositions.lazySet(i, Integer.MAX_VALUE);
+
+            long unexploredEdges = graph.edgeCount() - frontierEdges;
+            int visitedBefore = 0;
+            boolean bottomUp = false;
+
+            while (frontier.length > 0) {
+                int goal = firstGoal();
+                if (goal >= 0)
+                    return new SearchResult<>(buildPath(frontier[goal]), visitedBefore + goal + 1);
+                visitedBefore += frontier.length;
+
+                int previousSize = frontier.length;
+                if (! bottomUp && frontierEdges > unexploredEdges / ALPHA) bottomUp = true;
+                int[] next = bottomUp ? bottomUpStep() : topDownStep();
+                if (bottomUp && next.length < previousSize && next.length < stateCount / BETA) bottomUp = false;
+
+                int[] previous = frontier;
+                level++;
+                frontier = next;
+                enterLevel(previous);
+                unexploredEdges -= frontierEdges;
+            }
+            return new SearchResult<>(null, visitedBefore);
+        }
+
+        /**
+         * Position of first goal of current level or -1.
+         */
+        private int firstGoal() {
+            AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+            forEachChunk(frontier.length, chunk -> {
+                for (int i = chunk * CHUNK_SIZE, end = Math.min(frontier.length, i + CHUNK_SIZE); i < end; i++) {
+                    if (graph.isGoal(frontier[i])) {
+                        first.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+            });
+            return first.get() == Integer.MAX_VALUE ? - 1 : first.get();
+        }
+
+        /**
+         * Every undiscovered successor takes the position of its earliest predecessor in the
+         * level, then every state of the level collects successors that took its position,
+         * in order of its edges.
+         */
+        private int[] topDownStep() {
+            forEachChunk(frontier.length, chunk -> {
+                for (int i = chunk * CHUNK_SIZE, end = Math.min(frontier.length, i + CHUNK_SIZE); i < end; i++) {
+                    int state = frontier[i];
+                    for (int edge = graph.edgesBegin(state), last = graph.edgesEnd(state); edge < last; edge++) {
+                        int next = graph.edgeTarget(edge);
+                        if (! isDiscovered(next)) parentPositions.accumulateAndGet(next, i, Math::min);
+                    }
+                }
+            });
+
+            int chunkCount = chunkCount(frontier.length);
+            int[][] found = new int[chunkCount][];
+            forEachChunk(frontier.length, chunk -> {
+                int[] buffer = new int[16];
+                int size = 0;
+                for (int i = chunk * CHUNK_SIZE, end = Math.min(frontier.length, i + CHUNK_SIZE); i < end; i++) {
+                    int state = frontier[i];
+                    for (int edge = graph.edgesBegin(state), last = graph.edgesEnd(state); edge < last; edge++) {
+                        if (graph.isRepeatedEdge(edge)) continue;
+                        int next = graph.edgeTarget(edge);
+                        if (parentPositions.get(next) != i || isDiscovered(next)) continue;
+
+                        markDiscovered(next);
+                        if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+                        buffer[size++] = next;
+                    }
+                }
+                found[chunk] = Arrays.copyOf(buffer, size);
+            });
+            return concat(found);
+        }
+
+        /**
+         * Every undiscovered state looks for its earliest predecessor in the level. Found states
+         * are then ordered by position of that predecessor and by name.
+         */
+        private int[] bottomUpStep() {
+            int chunkCount = chunkCount(stateCount);
+            int[][] found = new int[chunkCount][];
+            forEachChunk(stateCount, chunk -> {
+                int[] buffer = new int[16];
+                int size = 0;
+                for (int state = chunk * CHUNK_SIZE, end = Math.min(stateCount, state + CHUNK_SIZE); state < end; state++) {
+                    if (isDiscovered(state)) continue;
+
+                    int earliest = Integer.MAX_VALUE;
+                    for (int i = graph.inEdgesBegin(state), last = graph.inEdgesEnd(state); i < last; i++) {
+                        int previous = graph.edgeSource(graph.inEdge(i));
+                        if (levels[previous] == level) earliest = Math.min(earliest, positions[previous]);
+                    }
+                    if (earliest == Integer.MAX_VALUE) continue;
+
+                    parentPositions.set(state, earliest);
+                    markDiscovered(state);
+                    if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+                    buffer[size++] = state;
+                }
+                found[chunk] = Arrays.copyOf(buffer, size);
+            });
+
+            int[] next = concat(found);
+            long[] keys = new long[next.length];
+            for (int i = 0; i < next.length; i++)
+                keys[i] = (long) parentPositions.get(next[i]) << 32 | graph.nameRank(next[i]);
+            Arrays.parallelSort(keys);
+
+            if (statesByRank == null) {
+                statesByRank = new int[stateCount];
+                for (int state = 0; state < stateCount; state++)
+                    statesByRank[graph.nameRank(state)] = state;
+            }
+            for (int i = 0; i < next.length; i++)
+                next[i] = statesByRank[(int) keys[i]];
+            return next;
+        }
+
+        /**
+         * Records level, position and parent of states of new level and sums their edges.
+         */
+        private void enterLevel(int[] previous) {
+            AtomicLong edges = new AtomicLong();
+            forEachChunk(frontier.length, chunk -> {
+                long sum = 0;
+                for (int i = chunk * CHUNK_SIZE, end = Math.min(frontier.length, i + CHUNK_SIZE); i < end; i++) {
+                    int state = frontier[i];
+                    levels[state] = level;
+                    positions[state] = i;
+                    parents[state] = previous[parentPositions.get(state)];
+                    sum += degree(state);
+                }
+                edges.addAndGet(sum);
+            });
+            frontierEdges = edges.get();
+        }
+
+        private NodeCost<T> buildPath(int state) {
+            int length = 0;
+            for (int current = state; current >= 0; current = parents[current])
+                length++;
+
+            int[] path = new int[length];
+            for (int current = state, i = length - 1; current >= 0; current = parents[current], i--)
+                path[i] = current;
+
+            NodeCost<T> node = null;
+            double cost = 0;
+            for (int i = 0; i < length; i++) {
+                if (i > 0) cost += graph.edgeCost(graph.findEdge(path[i - 1], path[i]));
+                node = new NodeCost<>(node, graph.stateOf(path[i]), cost);
+            }
+            return node;
+        }
+
+        private int degree(int state) {
+            return graph.hasSuccessors(state) ? graph.edgesEnd(state) - graph.edgesBegin(state) : 0;
+        }
+
+        private boolean isDiscovered(int state) {
+            return (discovered.get(state >>> 6) & (1L << state)) != 0;
+        }
+
+        private void markDiscovered(int state) {
+            long bit = 1L << state;
+            discovered.getAndAccumulate(state >>> 6, bit, (word, mask) -> word | mask);
+        }
+
+        private int chunkCount(int size) {
+            return (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        }
+
+        private void forEachChunk(int size, IntConsumer action) {
+            int chunkCount = chunkCount(size);
+            if (chunkCount == 1) action.accept(0);
+            else if (chunkCount > 1) pool.invoke(new ChunkTask(action, 0, chunkCount));
+        }
+    }
+
+    private static int[] concat(int[][] parts) {
+        int length = 0;
+        for (int[] part : parts)
+            length += part.length;
+
+        int[] result = new int[length];
+        int written = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, written, part.length);
+            written += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * Task running action for a range of chunks, splitting it in half while there is more than one.
+     */
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveAction {
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(action, from, middle), new ChunkTask(action, middle, to));
+                return;
+            }
+            if (from < to) action.accept(from);
+        }
+    }
+}
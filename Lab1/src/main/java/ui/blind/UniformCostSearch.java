@@ -3,6 +3,8 @@ package ui.blind;
 import ui.common.ISearchAlgorithm;
 import ui.common.NodeCost;
 import ui.common.SearchProblem;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
 
 import java.util.*;
 
@@ -18,6 +20,7 @@ import java.util.*;
 public class UniformCostSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
     private final SearchProblem<T> searchProblem;
     private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
 
     public UniformCostSearch(SearchProblem<T> searchProblem) {
         this.searchProblem = searchProblem;
@@ -26,6 +29,21 @@ public class UniformCostSearch<T extends Comparable<T>> implements ISearchAlgori
     @SuppressWarnings("DuplicatedCode")
     @Override
     public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startingState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startingState, SearchListener listener) {
         Queue<NodeCost<T>> open = new PriorityQueue<>(NodeCost.COMPARATOR_BY_COST.thenComparing(NodeCost.COMPARATOR_BY_VALUE));
         Set<T> closed = new HashSet<>();
 
@@ -35,24 +53,26 @@ public class UniformCostSearch<T extends Comparable<T>> implements ISearchAlgori
             var currentNode = open.poll();
             T state = currentNode.getState();
 
-            if(!closed.add(state)) continue;
+            if(!closed.add(state)) {
+                listener.duplicateSkipped();
+                continue;
+            }
 
             if (searchProblem.isGoal(state)) {
-                visitedStates = closed.size();
-                return currentNode;
+                return new SearchResult<>(currentNode, closed.size());
             }
 
-            var set = searchProblem.getSuccessorsSortedByCostName(state);
-            if (set == null) continue;
-
-            for (var next : set) {
+            listener.stateExpanded();
+            for (var next : searchProblem.getSuccessors(state)) {
                 if (! closed.contains(next.getState())) {
                     open.add(new NodeCost<>(currentNode, next.getState(), currentNode.getCost() + next.getCost()));
+                    listener.stateGenerated();
                 }
             }
+            listener.openSize(open.size());
         }
 
-        return null;
+        return new SearchResult<>(null, closed.size());
     }
 
     @Override
@@ -60,6 +80,11 @@ public class UniformCostSearch<T extends Comparable<T>> implements ISearchAlgori
         return search(searchProblem.getStart());
     }
 
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
     @Override
     public int visitedStates() {
         return visitedStates;
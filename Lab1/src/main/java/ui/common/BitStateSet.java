@@ -0,0 +1,154 @@
+package ui.common;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Approximate set of visited states for bit-state hashing (supertrace). A state is stored only
+ * as a few bits of a fixed size bit array, picked by hash functions derived from one 64 bit hash
+ * of the state by double hashing. State counts as visited when all of its bits are set, so a new
+ * state whose bits were all set by others is wrongly skipped, and states it leads to may be missed.
+ * Memory stays the same however many states are stored.
+ * <p>
+ * Probability that a new state is skipped is fraction of set bits raised to the number of hash
+ * functions. Summing it over stored states estimates how many states were missed. Collisions of
+ * whole hashes are not part of the estimate, so default hash takes 64 bits of character sequences
+ * and falls back to {@link Object#hashCode()} only for other states.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class BitStateSet<T> {
+    public static final int MIN_LOG2_BITS = 6;
+    public static final int MAX_LOG2_BITS = 36;
+
+    private final long[] words;
+    private final long mask;
+    private final int hashCount;
+    private final ToLongFunction<? super T> hash;
+    private long setBits;
+    private int size;
+    private double expectedMissed;
+
+    public BitStateSet(int log2Bits, int hashCount) {
+        this(log2Bits, hashCount, BitStateSet::defaultHash);
+    }
+
+    /**
+     * @param log2Bits  base 2 logarithm of number of bits, between {@link #MIN_LOG2_BITS} and
+     *                  {@link #MAX_LOG2_BITS}
+     * @param hashCount number of hash functions, at least 1
+     * @param hash      hash of state, mixed before use so it does not need to be random
+     */
+    public BitStateSet(int log2Bits, int hashCount, ToLongFunction<? super T> hash) {
+        checkArguments(log2Bits, hashCount);
+        this.words = new long[1 << (log2Bits - 6)];
+        this.mask = (1L << log2Bits) - 1;
+        this.hashCount = hashCount;
+        this.hash = hash;
+    }
+
+    /**
+     * Checks arguments of a set without allocating its bit array.
+     *
+     * @throws IllegalArgumentException if set can not be created with them
+     */
+    public static void checkArguments(int log2Bits, int hashCount) {
+        if (log2Bits < MIN_LOG2_BITS || log2Bits > MAX_LOG2_BITS)
+            throw new IllegalArgumentException("Bit array must have between 2^" + MIN_LOG2_BITS
+                    + " and 2^" + MAX_LOG2_BITS + " bits");
+        if (hashCount < 1) throw new IllegalArgumentException("At least one hash function is needed");
+    }
+
+    /**
+     * Sets bits of state.
+     *
+     * @return <code>true</code> if any bit was not set before, so the state is new
+     */
+    public boolean add(T state) {
+        double skipProbability = omissionProbability();
+        long first = mix(hash.applyAsLong(state));
+        long step = mix(first) | 1;
+
+        boolean added = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (first + i * step) & mask;
+            int word = (int) (bit >>> 6);
+            long bitMask = 1L << bit;
+            if ((words[word] & bitMask) == 0) {
+                words[word] |= bitMask;
+                setBits++;
+                added = true;
+            }
+        }
+
+        //Each state got through while about p / (1 - p) others were skipped, which has no
+        //finite value once every bit is set
+        if (added) {
+            size++;
+            if (skipProbability < 1) expectedMissed += skipProbability / (1 - skipProbability);
+        }
+        return added;
+    }
+
+    /**
+     * Checks if all bits of state are set, which may also be true for states never added.
+     */
+    public boolean contains(T state) {
+        long first = mix(hash.applyAsLong(state));
+        long step = mix(first) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (first + i * step) & mask;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of states added as new.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long bitCount() {
+        return mask + 1;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Probability that a state not added yet would now be taken as already added.
+     */
+    public double omissionProbability() {
+        return Math.pow((double) setBits / bitCount(), hashCount);
+    }
+
+    /**
+     * Estimated number of states skipped as already added while they were new.
+     */
+    public double expectedMissedStates() {
+        return expectedMissed;
+    }
+
+    private static long defaultHash(Object state) {
+        if (! (state instanceof CharSequence)) return state.hashCode();
+
+        CharSequence sequence = (CharSequence) state;
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < sequence.length(); i++)
+            hash = (hash ^ sequence.charAt(i)) * 0x100000001B3L;
+        return hash;
+    }
+
+    /**
+     * Finalizer of SplitMix64.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
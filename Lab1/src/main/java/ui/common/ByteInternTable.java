@@ -0,0 +1,104 @@
+package ui.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Table that interns state names given as UTF-8 byte ranges into dense integer ids
+ * without creating a {@link String} for every occurrence. Bytes of each distinct name
+ * are stored once in a shared byte array.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ByteInternTable {
+    private byte[] bytes = new byte[1024];
+    private int bytesUsed;
+    private int[] offsets = new int[65];
+    private int[] hashes = new int[64];
+    private int[] slots = new int[128];
+    private int size;
+
+    /**
+     * Returns id of name stored in range of array, adding it if it was not seen before.
+     */
+    public int intern(byte[] source, int from, int to) {
+        int hash = hash(source, from, to);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && equals(id, source, from, to)) return id;
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size++;
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            offsets = Arrays.copyOf(offsets, size * 2 + 1);
+        }
+        int length = to - from;
+        if (bytesUsed + length > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesUsed + length));
+        System.arraycopy(source, from, bytes, bytesUsed, length);
+        bytesUsed += length;
+        offsets[id + 1] = bytesUsed;
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+
+        if (size * 2 > slots.length) rehash();
+        return id;
+    }
+
+    /**
+     * Interns name with given id from another table.
+     */
+    public int intern(ByteInternTable other, int id) {
+        return intern(other.bytes, other.offsets[id], other.offsets[id + 1]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes name with given id.
+     */
+    public String nameOf(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates table of decoded names with same ids as in this table.
+     */
+    public InternTable<String> toInternTable() {
+        InternTable<String> table = new InternTable<>(size);
+        for (int id = 0; id < size; id++)
+            table.intern(nameOf(id));
+        return table;
+    }
+
+    private boolean equals(int id, byte[] source, int from, int to) {
+        return Arrays.equals(bytes, offsets[id], offsets[id + 1], source, from, to);
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (newSlots[slot] != 0)
+                slot = (slot + 1) & mask;
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static int hash(byte[] source, int from, int to) {
+        int hash = 0x811C9DC5;
+        for (int i = from; i < to; i++)
+            hash = (hash ^ source[i]) * 0x01000193;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,67 @@
+package ui.common;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats costs to one decimal place the same way as <code>new DecimalFormat("0.0")</code>
+ * with english symbols does, but appends digits directly to a {@link StringBuilder}
+ * without creating any objects. Very large and non finite values fall back to a
+ * {@link DecimalFormat} that is kept per thread, so the class can be used from many threads.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public final class CostFormat {
+    private static final double FAST_PATH_LIMIT = 1e14;
+
+    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = ThreadLocal.withInitial(() -> {
+        DecimalFormat df = new DecimalFormat("0.0");
+        df.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+        return df;
+    });
+
+    private CostFormat() {
+    }
+
+    /**
+     * Get cost formatted to one decimal place.
+     *
+     * @param cost cost
+     * @return formatted cost
+     */
+    public static String format(double cost) {
+        return append(new StringBuilder(8), cost).toString();
+    }
+
+    /**
+     * Appends cost formatted to one decimal place.
+     *
+     * @param sb   builder to append to
+     * @param cost cost
+     * @return same builder
+     */
+    public static StringBuilder append(StringBuilder sb, double cost) {
+        if (! (Math.abs(cost) < FAST_PATH_LIMIT))
+            return sb.append(DECIMAL_FORMAT.get().format(cost));
+
+        //Round to tenths half to even using exact value of the double, like DecimalFormat does
+        double scaled = cost * 10;
+        double rounded = Math.rint(scaled);
+        double floor = Math.floor(scaled);
+        if (scaled - floor == 0.5) {
+            double error = Math.fma(cost, 10, - scaled);
+            if (error > 0) rounded = floor + 1;
+            else if (error < 0) rounded = floor;
+        }
+
+        long tenths = (long) rounded;
+        if (tenths < 0 || (tenths == 0 && (cost < 0 || Double.doubleToRawLongBits(cost) < 0))) {
+            sb.append('-');
+            tenths = - tenths;
+        }
+        return sb.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+    }
+}
@@ -0,0 +1,104 @@
+package ui.common;
+
+/**
+ * Dial's bucket queue implementing {@link IntFrontier} for graphs with non-negative integral
+ * edge costs. Keys of entries in the queue never differ by more than the largest edge cost,
+ * so a circular array of one bucket per possible key is enough and both adding and polling
+ * take constant time, apart from walking over empty buckets. Entries with equal key are
+ * ordered by name of state in a small heap, like in {@link IntMinQueue}.
+ * <p>
+ * Queue is monotone, entries can not have lower key than the last polled one unless the queue is
+ * empty, and can not exceed it by more than the largest edge cost.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class DialQueue implements IntFrontier {
+    private static final int MAX_BUCKETS = 1 << 24;
+
+    private final StateGraph<?> graph;
+    private final RankBucket[] buckets;
+    private long currentKey;
+    private int current;
+    private int size;
+
+    /**
+     * @param maxCost largest edge cost of graph
+     */
+    public DialQueue(StateGraph<?> graph, long maxCost) {
+        if (maxCost < 0 || maxCost >= MAX_BUCKETS)
+            throw new IllegalArgumentException("Dial's queue needs integral costs below " + MAX_BUCKETS);
+        this.graph = graph;
+        this.buckets = new RankBucket[(int) maxCost + 1];
+    }
+
+    @Override
+    public void offer(double key, int state, int value) {
+        long integralKey = (long) key;
+        if (integralKey != key) throw new IllegalArgumentException("Key " + key + " is not integral");
+        if (size == 0 && (integralKey < currentKey || integralKey - currentKey >= buckets.length)) {
+            //Empty queue starts over from any key
+            currentKey = integralKey;
+            current = (int) (integralKey % buckets.length);
+        } else if (integralKey < currentKey || integralKey - currentKey >= buckets.length) {
+            throw new IllegalArgumentException("Key " + key + " out of range of queue at " + currentKey);
+        }
+
+        int index = (int) (integralKey % buckets.length);
+        RankBucket bucket = buckets[index];
+        if (bucket == null) bucket = buckets[index] = new RankBucket(graph);
+        bucket.offer(integralKey, state, value);
+        size++;
+    }
+
+    @Override
+    public double peekKey() {
+        return first().key(0);
+    }
+
+    @Override
+    public int peekState() {
+        return first().state(0);
+    }
+
+    @Override
+    public int peekValue() {
+        return first().value(0);
+    }
+
+    @Override
+    public void removeFirst() {
+        first().removeFirst();
+        size--;
+    }
+
+    /**
+     * Moves to bucket of the lowest key in queue.
+     */
+    private RankBucket first() {
+        while (buckets[current] == null || buckets[current].isEmpty()) {
+            if (++ current == buckets.length) current = 0;
+            currentKey++;
+        }
+        return buckets[current];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (RankBucket bucket : buckets) {
+            if (bucket != null) bucket.clear();
+        }
+        size = 0;
+    }
+}
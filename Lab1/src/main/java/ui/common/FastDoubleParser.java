@@ -0,0 +1,88 @@
+package ui.common;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser of decimal numbers written as ASCII bytes. Numbers with at most 15 significant
+ * digits and a small exponent, which covers costs in state space files, are parsed
+ * directly and exactly. Everything else is handed over to {@link Double#parseDouble(String)}.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public final class FastDoubleParser {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private FastDoubleParser() {
+    }
+
+    /**
+     * Parses number in range of array. Surrounding whitespace is ignored as in {@link Double#parseDouble(String)}.
+     *
+     * @throws NumberFormatException if range does not contain a number
+     */
+    public static double parse(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') from++;
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') to--;
+
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long digits = 0;
+        int digitCount = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+
+        for (; i < to && isDigit(bytes[i]); i++) {
+            anyDigit = true;
+            if (digits == 0 && bytes[i] == '0') continue;
+            digits = digits * 10 + (bytes[i] - '0');
+            digitCount++;
+        }
+        if (i < to && bytes[i] == '.') {
+            for (i++; i < to && isDigit(bytes[i]); i++) {
+                anyDigit = true;
+                exponent--;
+                if (digits == 0 && bytes[i] == '0') continue;
+                digits = digits * 10 + (bytes[i] - '0');
+                digitCount++;
+            }
+        }
+        if (anyDigit && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < to && (bytes[j] == '-' || bytes[j] == '+')) {
+                negativeExponent = bytes[j] == '-';
+                j++;
+            }
+            int value = 0;
+            int start = j;
+            for (; j < to && isDigit(bytes[j]) && value < 10000; j++)
+                value = value * 10 + (bytes[j] - '0');
+            if (j > start) {
+                exponent += negativeExponent ? - value : value;
+                i = j;
+            }
+        }
+
+        if (! anyDigit || i != to || digitCount > 15 || exponent < - 22 || exponent > 22)
+            return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+
+        double value = digits;
+        if (exponent < 0) value /= POWERS_OF_TEN[- exponent];
+        else value *= POWERS_OF_TEN[exponent];
+        return negative ? - value : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
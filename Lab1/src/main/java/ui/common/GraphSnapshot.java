@@ -0,0 +1,474 @@
+package ui.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Binary snapshot of a parsed {@link StateGraph} with optional heuristic values.
+ * <p>
+ * File starts with a fixed header followed by sections aligned to 8 bytes. Sections hold
+ * packed arrays of the graph exactly as the graph uses them, the table of state names
+ * with its hash index and heuristic values with the ordering of states by heuristics.
+ * Every section is memory mapped on load and used in place, so loading does not parse
+ * or copy anything and processes loading the same file share its pages in the page cache.
+ * All values are little endian and every section must fit into a single mapping of 2 GB.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class GraphSnapshot {
+    private static final int MAGIC = 0x4E534955;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 512;
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int OFFSETS = 0;
+    private static final int TARGETS = 1;
+    private static final int COSTS = 2;
+    private static final int COST_ORDER = 3;
+    private static final int REPEATED = 4;
+    private static final int NAME_RANKS = 5;
+    private static final int GOALS = 6;
+    private static final int HAS_SUCCESSORS = 7;
+    private static final int NAME_OFFSETS = 8;
+    private static final int NAME_HASHES = 9;
+    private static final int NAME_SLOTS = 10;
+    private static final int NAME_BYTES = 11;
+    private static final int HEURISTIC_COSTS = 12;
+    private static final int HEURISTIC_ORDER = 13;
+    private static final int HEURISTIC_LABEL = 14;
+    private static final int SECTION_COUNT = 15;
+
+    private final StateTable<String> names;
+    private final StateGraph<String> graph;
+    private final DoubleBuffer heuristicCosts;
+    private final IntBuffer heuristicOrder;
+    private final String heuristicLabel;
+
+    private GraphSnapshot(StateTable<String> names, StateGraph<String> graph,
+                          DoubleBuffer heuristicCosts, IntBuffer heuristicOrder, String heuristicLabel) {
+        this.names = names;
+        this.graph = graph;
+        this.heuristicCosts = heuristicCosts;
+        this.heuristicOrder = heuristicOrder;
+        this.heuristicLabel = heuristicLabel;
+    }
+
+    /**
+     * Graph backed by mapped sections of the snapshot.
+     */
+    public StateGraph<String> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Table of all names in snapshot. It holds states of graph under the same ids,
+     * followed by states that appear only in heuristics.
+     */
+    public StateTable<String> getNames() {
+        return names;
+    }
+
+    public boolean hasHeuristics() {
+        return heuristicOrder != null;
+    }
+
+    /**
+     * Heuristic value of name with given id, or NaN if state has no value.
+     */
+    public double heuristicCost(int id) {
+        return heuristicCosts.get(id);
+    }
+
+    /**
+     * Ids of states with heuristic values, in order of states by heuristics.
+     */
+    public IntBuffer heuristicOrder() {
+        return heuristicOrder.duplicate();
+    }
+
+    /**
+     * Name of the heuristics file the snapshot was written from.
+     */
+    public String heuristicLabel() {
+        return heuristicLabel;
+    }
+
+    /**
+     * Writes snapshot of graph without heuristics.
+     *
+     * @param file  file to write
+     * @param graph graph
+     * @throws IOException if file can not be written
+     */
+    public static void write(Path file, StateGraph<String> graph) throws IOException {
+        write(file, graph, null, null, null);
+    }
+
+    /**
+     * Writes snapshot of graph with heuristic values.
+     *
+     * @param file            file to write
+     * @param graph           graph
+     * @param orderedStates   states in order of states by heuristics
+     * @param costs           heuristic value of every state in ordered states
+     * @param heuristicLabel  name of heuristics file
+     * @throws IOException if file can not be written
+     */
+    public static void write(Path file, StateGraph<String> graph, List<String> orderedStates,
+                             double[] costs, String heuristicLabel) throws IOException {
+        int stateCount = graph.stateCount();
+        int edgeCount = graph.edgeCount();
+
+        //States known only from heuristics get ids after the states of graph
+        InternTable<String> extraNames = new InternTable<>();
+        int[] order = null;
+        if (orderedStates != null) {
+            order = new int[orderedStates.size()];
+            for (int i = 0; i < order.length; i++) {
+                String state = orderedStates.get(i);
+                int id = graph.idOf(state);
+                order[i] = id >= 0 ? id : stateCount + extraNames.intern(state);
+            }
+        }
+        int nameCount = stateCount + extraNames.size();
+
+        byte[][] encoded = new byte[nameCount][];
+        int[] hashes = new int[nameCount];
+        for (int id = 0; id < nameCount; id++) {
+            String name = id < stateCount ? graph.stateOf(id) : extraNames.stateOf(id - stateCount);
+            encoded[id] = name.getBytes(StandardCharsets.UTF_8);
+            hashes[id] = name.hashCode();
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, nameCount * 2 - 1)) << 1;
+        int[] slots = new int[capacity];
+        for (int id = 0; id < nameCount; id++) {
+            int slot = MappedNames.spread(hashes[id]) & (capacity - 1);
+            while (slots[slot] != 0)
+                slot = (slot + 1) & (capacity - 1);
+            slots[slot] = id + 1;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             SectionWriter out = new SectionWriter(channel)) {
+
+            out.begin(OFFSETS);
+            for (int id = 0; id <= stateCount; id++)
+                out.putInt(id < stateCount ? graph.edgesBegin(id) : edgeCount);
+            out.begin(TARGETS);
+            for (int edge = 0; edge < edgeCount; edge++)
+                out.putInt(graph.edgeTarget(edge));
+            out.begin(COSTS);
+            for (int edge = 0; edge < edgeCount; edge++)
+                out.putDouble(graph.edgeCost(edge));
+            out.begin(COST_ORDER);
+            for (int position = 0; position < edgeCount; position++)
+                out.putInt(graph.edgeByCostName(position));
+            out.begin(REPEATED);
+            out.putBits(edgeCount, graph::isRepeatedEdge);
+            out.begin(NAME_RANKS);
+            for (int id = 0; id < stateCount; id++)
+                out.putInt(graph.nameRank(id));
+            out.begin(GOALS);
+            out.putBits(stateCount, graph::isGoal);
+            out.begin(HAS_SUCCESSORS);
+            out.putBits(stateCount, graph::hasSuccessors);
+
+            out.begin(NAME_OFFSETS);
+            long nameOffset = 0;
+            for (int id = 0; id <= nameCount; id++) {
+                out.putInt((int) nameOffset);
+                if (id < nameCount) nameOffset += encoded[id].length;
+            }
+            if (nameOffset > Integer.MAX_VALUE)
+                throw new IOException("State names do not fit into snapshot");
+            out.begin(NAME_HASHES);
+            for (int hash : hashes)
+                out.putInt(hash);
+            out.begin(NAME_SLOTS);
+            for (int slot : slots)
+                out.putInt(slot);
+            out.begin(NAME_BYTES);
+            for (byte[] name : encoded)
+                out.putBytes(name);
+
+            if (order != null) {
+                double[] byId = new double[nameCount];
+                Arrays.fill(byId, Double.NaN);
+                for (int i = 0; i < order.length; i++)
+                    byId[order[i]] = costs[i];
+
+                out.begin(HEURISTIC_COSTS);
+                for (double cost : byId)
+                    out.putDouble(cost);
+                out.begin(HEURISTIC_ORDER);
+                for (int id : order)
+                    out.putInt(id);
+                out.begin(HEURISTIC_LABEL);
+                out.putBytes(heuristicLabel == null ? new byte[0] : heuristicLabel.getBytes(StandardCharsets.UTF_8));
+            }
+
+            out.end();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+            header.putInt(MAGIC).putInt(VERSION)
+                    .putInt(stateCount).putInt(nameCount).putInt(edgeCount)
+                    .putInt(graph.startId()).putInt(capacity).putInt(order == null ? - 1 : order.length);
+            for (int section = 0; section < SECTION_COUNT; section++)
+                header.putLong(out.offsets[section]).putLong(out.lengths[section]);
+            out.finish(header.flip());
+        }
+    }
+
+    /**
+     * Maps snapshot file into memory.
+     *
+     * @param file snapshot file
+     * @return loaded snapshot
+     * @throws IOException if file can not be read or is not a valid snapshot
+     */
+    public static GraphSnapshot load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC)
+                throw new IOException("Not a snapshot file " + file);
+            if (header.getInt() != VERSION)
+                throw new IOException("Unsupported snapshot version in " + file);
+
+            int stateCount = header.getInt();
+            int nameCount = header.getInt();
+            int edgeCount = header.getInt();
+            int start = header.getInt();
+            int capacity = header.getInt();
+            int heuristicCount = header.getInt();
+            if (stateCount < 0 || nameCount < stateCount || edgeCount < 0)
+                throw new IOException("Corrupted snapshot " + file);
+
+            long size = channel.size();
+            ByteBuffer[] sections = new ByteBuffer[SECTION_COUNT];
+            for (int section = 0; section < SECTION_COUNT; section++) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                if (offset < HEADER_SIZE || length < 0 || length > Integer.MAX_VALUE || offset + length > size)
+                    throw new IOException("Corrupted snapshot " + file);
+                sections[section] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ORDER);
+            }
+
+            checkLength(file, sections[OFFSETS], (stateCount + 1L) * Integer.BYTES);
+            checkLength(file, sections[TARGETS], (long) edgeCount * Integer.BYTES);
+            checkLength(file, sections[COSTS], (long) edgeCount * Double.BYTES);
+            checkLength(file, sections[COST_ORDER], (long) edgeCount * Integer.BYTES);
+            checkLength(file, sections[REPEATED], bitsLength(edgeCount));
+            checkLength(file, sections[NAME_RANKS], (long) stateCount * Integer.BYTES);
+            checkLength(file, sections[GOALS], bitsLength(stateCount));
+            checkLength(file, sections[HAS_SUCCESSORS], bitsLength(stateCount));
+            checkLength(file, sections[NAME_OFFSETS], (nameCount + 1L) * Integer.BYTES);
+            checkLength(file, sections[NAME_HASHES], (long) nameCount * Integer.BYTES);
+            checkLength(file, sections[NAME_SLOTS], (long) capacity * Integer.BYTES);
+
+            MappedNames names = new MappedNames(nameCount, sections[NAME_OFFSETS].asIntBuffer(),
+                    sections[NAME_HASHES].asIntBuffer(), sections[NAME_SLOTS].asIntBuffer(), sections[NAME_BYTES]);
+
+            StateGraph<String> graph = new StateGraph<>(names, stateCount, start,
+                    sections[GOALS].asLongBuffer(), sections[HAS_SUCCESSORS].asLongBuffer(),
+                    sections[OFFSETS].asIntBuffer(), sections[TARGETS].asIntBuffer(),
+                    sections[COSTS].asDoubleBuffer(), sections[COST_ORDER].asIntBuffer(),
+                    sections[REPEATED].asLongBuffer(), sections[NAME_RANKS].asIntBuffer());
+
+            if (heuristicCount < 0)
+                return new GraphSnapshot(names, graph, null, null, null);
+
+            checkLength(file, sections[HEURISTIC_COSTS], (long) nameCount * Double.BYTES);
+            checkLength(file, sections[HEURISTIC_ORDER], (long) heuristicCount * Integer.BYTES);
+            byte[] label = new byte[sections[HEURISTIC_LABEL].remaining()];
+            sections[HEURISTIC_LABEL].get(label);
+
+            return new GraphSnapshot(names, graph, sections[HEURISTIC_COSTS].asDoubleBuffer(),
+                    sections[HEURISTIC_ORDER].asIntBuffer(), new String(label, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Length of a section of bits written by {@link SectionWriter#putBits(int, IntPredicate)}.
+     */
+    private static long bitsLength(int size) {
+        return ((size + 63L) >>> 6) * Long.BYTES;
+    }
+
+    private static void checkLength(Path file, ByteBuffer section, long expected) throws IOException {
+        if (section.remaining() != expected)
+            throw new IOException("Corrupted snapshot " + file);
+    }
+
+    /**
+     * Table of state names read from mapped sections. Names are decoded on every lookup.
+     */
+    private static class MappedNames implements StateTable<String> {
+        private final int size;
+        private final IntBuffer offsets;
+        private final IntBuffer hashes;
+        private final IntBuffer slots;
+        private final ByteBuffer bytes;
+
+        private MappedNames(int size, IntBuffer offsets, IntBuffer hashes, IntBuffer slots, ByteBuffer bytes) {
+            this.size = size;
+            this.offsets = offsets;
+            this.hashes = hashes;
+            this.slots = slots;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int idOf(String state) {
+            if (state == null) return - 1;
+
+            int hash = state.hashCode();
+            int mask = slots.limit() - 1;
+            byte[] encoded = null;
+            for (int slot = spread(hash) & mask; slots.get(slot) != 0; slot = (slot + 1) & mask) {
+                int id = slots.get(slot) - 1;
+                if (hashes.get(id) != hash) continue;
+
+                if (encoded == null) encoded = state.getBytes(StandardCharsets.UTF_8);
+                if (equalBytes(id, encoded)) return id;
+            }
+            return - 1;
+        }
+
+        @Override
+        public String stateOf(int id) {
+            int from = offsets.get(id);
+            byte[] name = new byte[offsets.get(id + 1) - from];
+            bytes.get(from, name);
+            return new String(name, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private boolean equalBytes(int id, byte[] encoded) {
+            int from = offsets.get(id);
+            if (offsets.get(id + 1) - from != encoded.length) return false;
+            for (int i = 0; i < encoded.length; i++)
+                if (bytes.get(from + i) != encoded[i]) return false;
+            return true;
+        }
+
+        private static int spread(int hash) {
+            hash *= 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Buffered writer of aligned sections that remembers where every section starts.
+     */
+    private static class SectionWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ORDER);
+        private final long[] offsets = new long[SECTION_COUNT];
+        private final long[] lengths = new long[SECTION_COUNT];
+        private long position = HEADER_SIZE;
+        private int section = - 1;
+
+        private SectionWriter(FileChannel channel) {
+            this.channel = channel;
+            Arrays.fill(offsets, HEADER_SIZE);
+        }
+
+        void begin(int next) throws IOException {
+            end();
+            while ((position & 7) != 0)
+                put((byte) 0);
+            section = next;
+            offsets[section] = position;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void putBytes(byte[] values) throws IOException {
+            for (int from = 0; from < values.length; ) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), values.length - from);
+                buffer.put(values, from, length);
+                from += length;
+                position += length;
+            }
+        }
+
+        void putBits(int size, IntPredicate bits) throws IOException {
+            for (int word = 0; word < (size + 63) >>> 6; word++) {
+                long value = 0;
+                for (int bit = 0; bit < 64 && word * 64 + bit < size; bit++)
+                    if (bits.test(word * 64 + bit)) value |= 1L << bit;
+                ensure(Long.BYTES);
+                buffer.putLong(value);
+                position += Long.BYTES;
+            }
+        }
+
+        void finish(ByteBuffer header) throws IOException {
+            flush();
+            long at = 0;
+            while (header.hasRemaining())
+                at += channel.write(header, at);
+        }
+
+        private void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+            position++;
+        }
+
+        void end() throws IOException {
+            if (section < 0) return;
+            lengths[section] = position - offsets[section];
+            if (lengths[section] > Integer.MAX_VALUE)
+                throw new IOException("Section of snapshot is larger than 2 GB");
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer, position - buffer.remaining());
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -25,6 +25,21 @@ public interface ISearchAlgorithm<T extends Comparable<T>> {
      */
     NodeCost<T> search(T state);
 
+    /**
+     * Runs search from provided state and returns its result without storing it in the algorithm,
+     * so it is safe to call from many threads at once. Algorithms that keep state of a search
+     * in instance fields run one search at a time.
+     *
+     * @param state starting state
+     * @return result of search
+     */
+    default SearchResult<T> run(T state) {
+        synchronized (this) {
+            NodeCost<T> node = search(state);
+            return new SearchResult<>(node, node != null ? visitedStates() : - 1);
+        }
+    }
+
     /**
      * Returns number of states on last runned search.
      * If no search have been run returns -1;
@@ -32,6 +47,24 @@ public interface ISearchAlgorithm<T extends Comparable<T>> {
      */
     int visitedStates();
 
+    /**
+     * Checks if algorithm is guided by heuristics.
+     *
+     * @return <code>true</code> if algorithm uses heuristics
+     */
+    default boolean isInformed() {
+        return false;
+    }
+
+    /**
+     * Sets listener receiving events of every following search. Algorithms that do not
+     * report events ignore it.
+     *
+     * @param listener listener or {@link SearchListener#NOOP} to stop reporting
+     */
+    default void setSearchListener(SearchListener listener) {
+    }
+
     /**
      * Get name of algorithm
      */
@@ -0,0 +1,154 @@
+package ui.common;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min heap of {@link NodeCost} objects. Every node remembers its slot
+ * in the heap, so together with a map from state to node in open list it gives a position
+ * map that allows removing or replacing a node in O(log n) instead of the linear scan
+ * done by {@link java.util.PriorityQueue#remove(Object)}.
+ * A node can be stored in only one heap at a time.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IndexedHeap<N extends NodeCost<?>> {
+    private static final int DEFAULT_ARITY = 4;
+
+    private final Comparator<? super N> comparator;
+    private final int arity;
+    private Object[] nodes;
+    private int size;
+
+    public IndexedHeap(Comparator<? super N> comparator) {
+        this(comparator, DEFAULT_ARITY);
+    }
+
+    public IndexedHeap(Comparator<? super N> comparator, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2");
+        this.comparator = comparator;
+        this.arity = arity;
+        this.nodes = new Object[64];
+    }
+
+    public void add(N node) {
+        if (size == nodes.length)
+            nodes = Arrays.copyOf(nodes, size * 2);
+        siftUp(size++, node);
+    }
+
+    public N peek() {
+        return size == 0 ? null : node(0);
+    }
+
+    /**
+     * Removes and returns smallest node.
+     *
+     * @return smallest node or <code>null</code> if heap is empty
+     */
+    public N poll() {
+        if (size == 0) return null;
+        N result = node(0);
+        removeAt(0);
+        return result;
+    }
+
+    public boolean contains(N node) {
+        int index = node.heapIndex;
+        return index >= 0 && index < size && nodes[index] == node;
+    }
+
+    /**
+     * Puts replacement node into the slot of node that is in heap and restores heap order.
+     * Used for decrease-key when a cheaper path to a state is found.
+     *
+     * @param node        node currently in heap
+     * @param replacement node taking its place
+     */
+    public void replace(N node, N replacement) {
+        if (! contains(node)) throw new NoSuchElementException("Node is not in heap: " + node);
+        int index = node.heapIndex;
+        node.heapIndex = - 1;
+        if (comparator.compare(replacement, node) < 0) siftUp(index, replacement);
+        else siftDown(index, replacement);
+    }
+
+    public boolean remove(N node) {
+        if (! contains(node)) return false;
+        removeAt(node.heapIndex);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            node(i).heapIndex = - 1;
+            nodes[i] = null;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int index) {
+        N removed = node(index);
+        removed.heapIndex = - 1;
+
+        int last = --size;
+        N moved = node(last);
+        nodes[last] = null;
+        if (index == last) return;
+
+        if (comparator.compare(moved, removed) < 0) siftUp(index, moved);
+        else siftDown(index, moved);
+    }
+
+    private void siftUp(int index, N node) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            N parentNode = node(parent);
+            if (comparator.compare(node, parentNode) >= 0) break;
+            place(index, parentNode);
+            index = parent;
+        }
+        place(index, node);
+    }
+
+    private void siftDown(int index, N node) {
+        while (true) {
+            int firstChild = index * arity + 1;
+            if (firstChild >= size) break;
+
+            int smallest = firstChild;
+            int lastChild = Math.min(firstChild + arity, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (comparator.compare(node(child), node(smallest)) < 0)
+                    smallest = child;
+            }
+
+            N smallestNode = node(smallest);
+            if (comparator.compare(node, smallestNode) <= 0) break;
+            place(index, smallestNode);
+            index = smallest;
+        }
+        place(index, node);
+    }
+
+    private void place(int index, N node) {
+        nodes[index] = node;
+        node.heapIndex = index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private N node(int index) {
+        return (N) nodes[index];
+    }
+}
@@ -0,0 +1,19 @@
+package ui.common;
+
+/**
+ * {@link SearchProblem} whose states and transitions are also available as a
+ * compact {@link StateGraph} with integer state ids.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public interface IndexedSearchProblem<T extends Comparable<T>> extends SearchProblem<T> {
+
+    /**
+     * Get graph backing this problem.
+     *
+     * @return state graph
+     */
+    StateGraph<T> getStateGraph();
+}
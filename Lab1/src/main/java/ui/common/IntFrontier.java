@@ -0,0 +1,91 @@
+package ui.common;
+
+/**
+ * Open list of primitive (key, state, value) entries, polled by lowest key and then by name
+ * of state. Searches on a {@link StateGraph} use it to keep states to expand, with value
+ * usually holding id of the parent state.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public interface IntFrontier {
+
+    /**
+     * Adds entry. Bucket based frontiers only accept keys not lower than the last polled key.
+     */
+    void offer(double key, int state, int value);
+
+    /**
+     * Key of first entry, queue must not be empty.
+     */
+    double peekKey();
+
+    /**
+     * State of first entry, queue must not be empty.
+     */
+    int peekState();
+
+    /**
+     * Value of first entry, queue must not be empty.
+     */
+    int peekValue();
+
+    /**
+     * Removes first entry of queue.
+     */
+    void removeFirst();
+
+    boolean isEmpty();
+
+    int size();
+
+    void clear();
+
+    /**
+     * Implementations of frontier.
+     */
+    enum Kind {
+        /**
+         * {@link #DIAL} when largest edge cost is an integer up to {@link #DIAL_MAX_COST},
+         * {@link #RADIX} for larger integral costs and {@link #HEAP} otherwise.
+         */
+        AUTO,
+        /**
+         * Binary heap, {@link IntMinQueue}.
+         */
+        HEAP,
+        /**
+         * Dial's circular array of buckets, {@link DialQueue}.
+         */
+        DIAL,
+        /**
+         * Radix heap, {@link RadixHeap}.
+         */
+        RADIX;
+
+        /**
+         * Largest edge cost for which {@link #AUTO} uses buckets of Dial's queue.
+         */
+        public static final int DIAL_MAX_COST = 1 << 12;
+
+        /**
+         * Creates frontier of this kind for searches over graph.
+         *
+         * @throws IllegalArgumentException if frontier needs integral costs and graph has others
+         */
+        public IntFrontier create(StateGraph<?> graph) {
+            long maxCost = graph.maxIntegralCost();
+            Kind kind = this;
+            if (kind == AUTO) kind = maxCost < 0 ? HEAP : maxCost <= DIAL_MAX_COST ? DIAL : RADIX;
+            if (kind != HEAP && maxCost < 0)
+                throw new IllegalArgumentException(this + " frontier needs non-negative integral costs");
+
+            return switch (kind) {
+                case DIAL -> new DialQueue(graph, maxCost);
+                case RADIX -> new RadixHeap(graph);
+                default -> new IntMinQueue(graph);
+            };
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ui.common;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of primitive (key, state, value) entries ordered by key and then by
+ * name of state. Sifting is done exactly the same way as in {@link java.util.PriorityQueue},
+ * so for the same sequence of operations entries that compare equal come out in
+ * the same order as they would from a queue of {@link NodeCost} objects.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IntMinQueue implements IntFrontier {
+    private final StateGraph<?> graph;
+    private double[] keys;
+    private int[] states;
+    private int[] values;
+    private int size;
+
+    public IntMinQueue(StateGraph<?> graph) {
+        this.graph = graph;
+        keys = new double[64];
+        states = new int[64];
+        values = new int[64];
+    }
+
+    @Override
+    public void offer(double key, int state, int value) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            states = Arrays.copyOf(states, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (compare(key, state, keys[parent], states[parent]) >= 0) break;
+            move(parent, k);
+            k = parent;
+        }
+        set(k, key, state, value);
+    }
+
+    @Override
+    public double peekKey() {
+        return keys[0];
+    }
+
+    @Override
+    public int peekState() {
+        return states[0];
+    }
+
+    @Override
+    public int peekValue() {
+        return values[0];
+    }
+
+    /**
+     * Removes first entry of queue.
+     */
+    @Override
+    public void removeFirst() {
+        int n = --size;
+        if (n == 0) return;
+
+        double key = keys[n];
+        int state = states[n];
+        int value = values[n];
+
+        int k = 0;
+        int half = n >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < n && compare(keys[child], states[child], keys[right], states[right]) > 0)
+                child = right;
+            if (compare(key, state, keys[child], states[child]) <= 0) break;
+            move(child, k);
+            k = child;
+        }
+        set(k, key, state, value);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    private int compare(double key1, int state1, double key2, int state2) {
+        int result = Double.compare(key1, key2);
+        if (result != 0) return result;
+        return Integer.compare(graph.nameRank(state1), graph.nameRank(state2));
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        states[to] = states[from];
+        values[to] = values[from];
+    }
+
+    private void set(int index, double key, int state, int value) {
+        keys[index] = key;
+        states[index] = state;
+        values[index] = value;
+    }
+}
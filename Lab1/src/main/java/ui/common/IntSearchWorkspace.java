@@ -0,0 +1,159 @@
+package ui.common;
+
+/**
+ * Primitive per-state bookkeeping used by search algorithms working on {@link StateGraph} ids.
+ * Holds parent ids, path costs and open/closed bitmaps. Workspace is reused between
+ * searches and only states touched by the last search are cleared on {@link #reset()},
+ * so repeated searches do not allocate anything per expanded state.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IntSearchWorkspace {
+    private final int[] parents;
+    private final double[] costs;
+    private final long[] seen;
+    private final long[] open;
+    private final long[] closed;
+    private final int[] touched;
+    private int touchedCount;
+    private int closedCount;
+
+    public IntSearchWorkspace(int stateCount) {
+        int words = (stateCount + 63) >>> 6;
+        parents = new int[stateCount];
+        costs = new double[stateCount];
+        seen = new long[words];
+        open = new long[words];
+        closed = new long[words];
+        touched = new int[stateCount];
+    }
+
+    /**
+     * Clears all states touched since last reset.
+     */
+    public void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int word = touched[i] >>> 6;
+            seen[word] = 0;
+            open[word] = 0;
+            closed[word] = 0;
+        }
+        touchedCount = 0;
+        closedCount = 0;
+    }
+
+    /**
+     * Marks state as seen and remembers its parent and cost.
+     *
+     * @return <code>true</code> if state was not seen before
+     */
+    public boolean discover(int state, int parent, double cost) {
+        boolean first = markSeen(state);
+        parents[state] = parent;
+        costs[state] = cost;
+        return first;
+    }
+
+    public boolean isSeen(int state) {
+        return (seen[state >>> 6] & (1L << state)) != 0;
+    }
+
+    public boolean isOpen(int state) {
+        return (open[state >>> 6] & (1L << state)) != 0;
+    }
+
+    public void setOpen(int state, boolean value) {
+        markSeen(state);
+        if (value) open[state >>> 6] |= 1L << state;
+        else open[state >>> 6] &= ~ (1L << state);
+    }
+
+    public boolean isClosed(int state) {
+        return (closed[state >>> 6] & (1L << state)) != 0;
+    }
+
+    /**
+     * Marks state as closed.
+     *
+     * @return <code>true</code> if state was not closed before
+     */
+    public boolean close(int state) {
+        if (isClosed(state)) return false;
+        markSeen(state);
+        closed[state >>> 6] |= 1L << state;
+        closedCount++;
+        return true;
+    }
+
+    /**
+     * Number of states closed since last reset.
+     */
+    public int closedCount() {
+        return closedCount;
+    }
+
+    public int parentOf(int state) {
+        return parents[state];
+    }
+
+    public double costOf(int state) {
+        return costs[state];
+    }
+
+    /**
+     * Builds chain of {@link NodeCost} objects from start to given state following recorded parents.
+     *
+     * @param graph graph used for translating ids back to states
+     * @param state last state of path
+     * @return node of last state
+     */
+    public <T extends Comparable<T>> NodeCost<T> buildPath(StateGraph<T> graph, int state) {
+        int length = 0;
+        for (int current = state; current >= 0; current = parents[current])
+            length++;
+
+        int[] path = new int[length];
+        for (int current = state, i = length - 1; current >= 0; current = parents[current], i--)
+            path[i] = current;
+
+        NodeCost<T> node = null;
+        for (int id : path)
+            node = new NodeCost<>(node, graph.stateOf(id), costs[id]);
+        return node;
+    }
+
+    /**
+     * Extends path ending in given state with parents recorded by a backward search,
+     * which lead from the state towards a goal. Costs keep growing from cost of last node.
+     *
+     * @param graph    graph searched backwards
+     * @param node     node of path ending in state
+     * @param state    state where path continues
+     * @param cheapest <code>true</code> to follow the cheapest of repeated edges,
+     *                 otherwise the first one by name is followed
+     * @return node of the goal at the end of path
+     */
+    public <T extends Comparable<T>> NodeCost<T> extendPath(StateGraph<T> graph, NodeCost<T> node, int state, boolean cheapest) {
+        for (int current = state, next = parents[state]; next >= 0; current = next, next = parents[next]) {
+            int edge = graph.findEdge(current, next);
+            double cost = graph.edgeCost(edge);
+            if (cheapest) {
+                for (int e = edge + 1; e < graph.edgesEnd(current) && graph.edgeTarget(e) == next; e++)
+                    cost = Math.min(cost, graph.edgeCost(e));
+            }
+            node = new NodeCost<>(node, graph.stateOf(next), node.getCost() + cost);
+        }
+        return node;
+    }
+
+    private boolean markSeen(int state) {
+        int word = state >>> 6;
+        long bit = 1L << state;
+        if ((seen[word] & bit) != 0) return false;
+        seen[word] |= bit;
+        touched[touchedCount++] = state;
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package ui.common;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing table that maps every distinct state to a dense integer id.
+ * Ids are given out in order of first appearance starting from zero so they can
+ * be used directly as indexes into primitive arrays.
+ * Table is not thread safe while interning, but can be shared for lookups once filled.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class InternTable<T> implements StateTable<T> {
+    private static final int MISSING = - 1;
+
+    private Object[] states;
+    private int[] slots;
+    private int size;
+
+    public InternTable() {
+        this(16);
+    }
+
+    public InternTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        states = new Object[Math.max(4, expectedSize)];
+        slots = new int[capacity];
+    }
+
+    /**
+     * Returns id of state, adding it to the table if it was not seen before.
+     *
+     * @param state state to intern
+     * @return id of state
+     */
+    public int intern(T state) {
+        int mask = slots.length - 1;
+        int slot = spread(state.hashCode()) & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (states[id].equals(state)) return id;
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size++;
+        if (id == states.length)
+            states = Arrays.copyOf(states, states.length * 2);
+        states[id] = state;
+        slots[slot] = id + 1;
+
+        if (size * 2 > slots.length) rehash();
+        return id;
+    }
+
+    /**
+     * Returns id of state or -1 if state is not in table.
+     *
+     * @param state state looked for
+     * @return id of state or -1
+     */
+    @Override
+    public int idOf(T state) {
+        if (state == null) return MISSING;
+
+        int mask = slots.length - 1;
+        int slot = spread(state.hashCode()) & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (states[id].equals(state)) return id;
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns state with given id.
+     *
+     * @param id id of state
+     * @return state
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T stateOf(int id) {
+        return (T) states[id];
+    }
+
+    /**
+     * Number of distinct states in table.
+     *
+     * @return number of states
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = spread(states[id].hashCode()) & mask;
+            while (newSlots[slot] != 0)
+                slot = (slot + 1) & mask;
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,40 @@
+package ui.common;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link SearchProblem} whose successors are computed when asked for instead of being read
+ * from a prepared graph, for state spaces too large to enumerate. Subclasses only generate
+ * successors in {@link #getSuccessors(Object)}, and sorted sets are built from them only for
+ * algorithms that need the order, with the same ordering as {@link ProblemParser} uses.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public abstract class LazySearchProblem<T extends Comparable<T>> implements SearchProblem<T> {
+
+    @Override
+    public abstract Iterable<StateCost<T>> getSuccessors(T state);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<StateCost<T>> getSuccessorsSortedByCostName(T state) {
+        Set<StateCost<T>> successors = new TreeSet<>(StateCost.COMPARATOR_BY_COST.thenComparing(StateCost.COMPARATOR_BY_STATE.reversed()));
+        return fill(successors, state);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<StateCost<T>> getSuccessorsSortedByNameOnly(T state) {
+        Set<StateCost<T>> successors = new TreeSet<>(StateCost.COMPARATOR_BY_STATE);
+        return fill(successors, state);
+    }
+
+    private Set<StateCost<T>> fill(Set<StateCost<T>> successors, T state) {
+        for (StateCost<T> successor : getSuccessors(state))
+            successors.add(successor);
+        return successors.isEmpty() ? null : successors;
+    }
+}
@@ -0,0 +1,196 @@
+package ui.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Read only memory mapped text file that can be split into chunks of whole lines.
+ * Single mapping is limited to 2GB, so large files are always processed chunk by chunk.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class MappedFile implements Closeable {
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final int SCAN_WINDOW = 1 << 16;
+
+    private final FileChannel channel;
+    private final long size;
+
+    public MappedFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Maps part of file.
+     *
+     * @param from first byte
+     * @param to   byte after last one, at most 2GB after first
+     * @return mapped buffer
+     */
+    public MappedByteBuffer map(long from, long to) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    /**
+     * Finds position right after the first line break at or after given position.
+     *
+     * @param position position to start from
+     * @return start of next line or size of file if there is none
+     */
+    public long nextLineStart(long position) throws IOException {
+        while (position < size) {
+            long end = Math.min(size, position + SCAN_WINDOW);
+            MappedByteBuffer window = map(position, end);
+            for (int i = 0; i < window.limit(); i++) {
+                if (window.get(i) == '\n') return position + i + 1;
+            }
+            position = end;
+        }
+        return size;
+    }
+
+    /**
+     * Splits part of file into chunks that start and end on line boundaries.
+     *
+     * @param from          start of first chunk, must be at start of a line
+     * @param desiredChunks number of chunks wanted, actual number depends on size of file
+     * @return boundaries of chunks, chunk <code>i</code> spans from element <code>i</code> to <code>i + 1</code>
+     */
+    public long[] lineAlignedChunks(long from, int desiredChunks) throws IOException {
+        long length = size - from;
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, length / Math.max(1, desiredChunks) + 1));
+
+        long[] boundaries = new long[(int) (length / chunkSize) + 2];
+        int count = 0;
+        boundaries[count++] = from;
+        long position = from;
+        while (position < size) {
+            position = position + chunkSize >= size ? size : nextLineStart(position + chunkSize - 1);
+            boundaries[count++] = position;
+        }
+        if (count == 1) boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Splits file from given position into line aligned chunks and parses them in parallel.
+     *
+     * @param from   start of first chunk, must be at start of a line
+     * @param pool   pool running parsers
+     * @param parser parser of a single chunk
+     * @return results of chunks in order in which chunks appear in file
+     */
+    public <R> List<R> parseChunks(long from, ForkJoinPool pool, ChunkParser<R> parser) throws IOException {
+        long[] boundaries = lineAlignedChunks(from, pool.getParallelism() * 4);
+
+        List<Callable<R>> tasks = new ArrayList<>(boundaries.length - 1);
+        for (int i = 0; i + 1 < boundaries.length; i++) {
+            long chunkFrom = boundaries[i];
+            long chunkTo = boundaries[i + 1];
+            tasks.add(() -> parser.parse(new Lines(chunkFrom == chunkTo ? ByteBuffer.allocate(0) : map(chunkFrom, chunkTo))));
+        }
+
+        List<R> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<R> future : pool.invokeAll(tasks))
+                results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+        return results;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Parser of lines of one chunk of file.
+     */
+    public interface ChunkParser<R> {
+        R parse(Lines lines) throws IOException;
+    }
+
+    /**
+     * Cursor copying lines of a mapped buffer one by one into a reused byte array.
+     * Line breaks and a carriage return before them are not part of line.
+     */
+    public static class Lines {
+        private final ByteBuffer buffer;
+        private int position;
+        private byte[] line = new byte[256];
+        private int length;
+
+        public Lines(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Moves to next line.
+         *
+         * @return <code>false</code> if there are no more lines
+         */
+        public boolean next() {
+            int limit = buffer.limit();
+            if (position >= limit) return false;
+
+            int end = position;
+            while (end < limit && buffer.get(end) != '\n')
+                end++;
+
+            length = end - position;
+            if (length > line.length)
+                line = new byte[Math.max(length, line.length * 2)];
+            buffer.get(position, line, 0, length);
+            if (length > 0 && line[length - 1] == '\r') length--;
+
+            position = end + 1;
+            return true;
+        }
+
+        /**
+         * Position in buffer where next line starts.
+         */
+        public int position() {
+            return position;
+        }
+
+        /**
+         * Bytes of current line, valid only until next call of {@link #next()}.
+         */
+        public byte[] bytes() {
+            return line;
+        }
+
+        public int length() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ui.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parser of the same state space files as {@link ProblemParser}, meant for very large files.
+ * File is memory mapped and split into chunks of whole lines that are parsed in parallel.
+ * Lines are tokenized as bytes, state names are interned directly from bytes and costs
+ * are parsed with {@link FastDoubleParser}, so no intermediate strings are created.
+ * A string is made only once for every distinct state.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class MappedProblemParser implements IndexedSearchProblem<String> {
+    private final StateGraph<String> graph;
+
+    public MappedProblemParser(Path states) throws IOException {
+        this(states, ForkJoinPool.commonPool());
+    }
+
+    public MappedProblemParser(Path states, ForkJoinPool pool) throws IOException {
+        graph = generateStateGraph(states, pool);
+    }
+
+    private StateGraph<String> generateStateGraph(Path states, ForkJoinPool pool) throws IOException {
+        ByteInternTable names = new ByteInternTable();
+        int start = - 1;
+        int[] goals = new int[0];
+        List<Chunk> chunks;
+
+        try (MappedFile file = new MappedFile(states)) {
+            //First two lines that are not comments are starting and final states
+            long position = 0;
+            int lineCounter = 0;
+            while (lineCounter < 2 && position < file.size()) {
+                long next = file.nextLineStart(position);
+                MappedFile.Lines lines = new MappedFile.Lines(file.map(position, next));
+                position = next;
+                if (! lines.next()) continue;
+
+                byte[] line = lines.bytes();
+                int length = lines.length();
+                if (length > 0 && line[0] == '#') continue;
+                lineCounter++;
+
+                if (lineCounter == 1) {
+                    start = names.intern(line, 0, length);
+                } else {
+                    for (int from = 0; from < length; ) {
+                        int to = indexOf(line, from, length, (byte) ' ');
+                        if (to > from) {
+                            goals = Arrays.copyOf(goals, goals.length + 1);
+                            goals[goals.length - 1] = names.intern(line, from, to);
+                        }
+                        from = to + 1;
+                    }
+                }
+            }
+
+            chunks = file.parseChunks(position, pool, MappedProblemParser::parseChunk);
+        }
+
+        //Give every state a global id, chunk by chunk so ids follow order in file
+        int[][] globalIds = new int[chunks.size()][];
+        for (int i = 0; i < chunks.size(); i++) {
+            ByteInternTable local = chunks.get(i).names;
+            globalIds[i] = new int[local.size()];
+            for (int id = 0; id < local.size(); id++)
+                globalIds[i][id] = names.intern(local, id);
+        }
+
+        StateGraph.Builder<String> builder = new StateGraph.Builder<>(names.toInternTable());
+        if (start >= 0) builder.setStart(names.nameOf(start));
+        for (int goal : goals)
+            builder.addGoal(names.nameOf(goal));
+
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
+            int[] ids = globalIds[i];
+            for (int id = chunk.listed.nextSetBit(0); id >= 0; id = chunk.listed.nextSetBit(id + 1))
+                builder.addSuccessorList(ids[id]);
+            for (int edge = 0; edge < chunk.edgeCount; edge++)
+                builder.addEdge(ids[chunk.sources[edge]], ids[chunk.targets[edge]], chunk.costs[edge]);
+        }
+        return builder.build();
+    }
+
+    private static Chunk parseChunk(MappedFile.Lines lines) throws IOException {
+        Chunk chunk = new Chunk();
+
+        while (lines.next()) {
+            byte[] line = lines.bytes();
+            int length = lines.length();
+            if (length > 0 && line[0] == '#') continue;
+
+            int colon = indexOf(line, 0, length, (byte) ':');
+            if (colon >= length) continue;
+            int end = indexOf(line, colon + 1, length, (byte) ':');
+            if (end == colon + 1) continue;
+
+            int source = chunk.names.intern(line, 0, colon);
+            chunk.listed.set(source);
+
+            for (int from = colon + 1; from < end; ) {
+                int next = indexOf(line, from, end, (byte) ' ');
+                int to = next;
+                while (from < to && (line[from] & 0xFF) <= ' ') from++;
+                while (to > from && (line[to - 1] & 0xFF) <= ' ') to--;
+
+                if (to > from) {
+                    int comma = indexOf(line, from, to, (byte) ',');
+                    if (comma >= to)
+                        throw new IOException("Transition without cost: " + new String(line, from, to - from, StandardCharsets.UTF_8));
+                    int costEnd = indexOf(line, comma + 1, to, (byte) ',');
+
+                    int target = chunk.names.intern(line, from, comma);
+                    chunk.addEdge(source, target, FastDoubleParser.parse(line, comma + 1, costEnd));
+                }
+                from = next + 1;
+            }
+        }
+        return chunk;
+    }
+
+    static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++)
+            if (bytes[i] == value) return i;
+        return to;
+    }
+
+    @Override
+    public StateGraph<String> getStateGraph() {
+        return graph;
+    }
+
+    @Override
+    public boolean isGoal(String state) {
+        return graph.isGoal(state);
+    }
+
+    @Override
+    public String getStart() {
+        return graph.getStart();
+    }
+
+    @Override
+    public Set<StateCost<String>> getSuccessorsSortedByCostName(String state) {
+        return graph.getSuccessorsSortedByCostName(state);
+    }
+
+    @Override
+    public Set<StateCost<String>> getSuccessorsSortedByNameOnly(String state) {
+        return graph.getSuccessorsSortedByNameOnly(state);
+    }
+
+    /**
+     * Transitions parsed from one chunk of file, with state ids local to chunk.
+     */
+    private static class Chunk {
+        private final ByteInternTable names = new ByteInternTable();
+        private final BitSet listed = new BitSet();
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private double[] costs = new double[1024];
+        private int edgeCount;
+
+        private void addEdge(int source, int target, double cost) {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+                costs = Arrays.copyOf(costs, edgeCount * 2);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            costs[edgeCount] = cost;
+            edgeCount++;
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package ui.common;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.Comparator;
-import java.util.Locale;
 
 /**
  * Ckass extending {@link Node} with a cost assosiated to it's current location.
@@ -16,6 +13,11 @@ public class NodeCost<T extends Comparable<T>> extends Node<T> implements Compar
 
     protected double cost;
 
+    /**
+     * Slot of node in {@link IndexedHeap} or -1 if node is not in one.
+     */
+    int heapIndex = - 1;
+
     public NodeCost(Node<T> parent, T state, double cost) {
         super(parent, state);
         this.cost = cost;
@@ -31,9 +33,7 @@ public class NodeCost<T extends Comparable<T>> extends Node<T> implements Compar
      * @return String of cost.
      */
     public String getFormattedCost() {
-        DecimalFormat df = new DecimalFormat("0.0");
-        df.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ENGLISH));
-        return df.format(cost);
+        return CostFormat.format(cost);
     }
 
     @Override
@@ -1,35 +1,28 @@
 package ui.common;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
-import java.lang.String;
-import java.util.function.Function;
+import java.util.Set;
 
 /**
  * Class that implements {@link SearchProblem} for purpuses of UI Lab1.
- * Class parses input file and makes a tree of states.
+ * Class parses input file and makes a compact {@link StateGraph} of states.
  *
  * @author MatejCubek
  * @project UILab1
  * @created 25/03/2021
  */
-public class ProblemParser implements SearchProblem<String> {
-    private Map<String, Set<StateCost<String>>> map;
-    private Map<String, Set<StateCost<String>>> map2;
-    private String startingState;
-    private final Set<String> finalStates = new HashSet<>();
+public class ProblemParser implements IndexedSearchProblem<String> {
+    private final StateGraph<String> graph;
 
     public ProblemParser(Path states) throws IOException {
-        generateStateMap(states);
+        graph = generateStateGraph(states);
     }
 
-    private void generateStateMap(Path states) throws IOException {
-        map = new HashMap<>();
-        map2 = new HashMap<>();
+    private StateGraph<String> generateStateGraph(Path states) throws IOException {
+        StateGraph.Builder<String> builder = new StateGraph.Builder<>();
         //Parse file for lines
         try (BufferedReader buf = Files.newBufferedReader(states)) {
             String line;
@@ -39,10 +32,11 @@ public class ProblemParser implements SearchProblem<String> {
                 lineCounter++;
 
                 if (lineCounter == 1) {
-                    startingState = line;
+                    builder.setStart(line);
                     continue;
                 } else if (lineCounter == 2) {
-                    finalStates.addAll(Arrays.asList(line.split(" ")));
+                    for (String finalState : line.split(" "))
+                        builder.addGoal(finalState);
                     continue;
                 }
 
@@ -51,43 +45,51 @@ public class ProblemParser implements SearchProblem<String> {
 
                 if (statesFirstRest.length == 1) continue;
 
-                String source = statesFirstRest[0];
+                int source = builder.addSuccessorList(statesFirstRest[0]);
                 String[] destinations = statesFirstRest[1].trim().split(" ");
 
-                Set<StateCost<String>> nextStates = map.computeIfAbsent(source, s -> new TreeSet<>(StateCost.COMPARATOR_BY_COST.thenComparing(StateCost.COMPARATOR_BY_STATE.reversed())));
-                Set<StateCost<String>> nextStatesOnlyName = map2.computeIfAbsent(source, s -> new TreeSet<>(StateCost.COMPARATOR_BY_STATE));
-
                 for (String destination : destinations) {
                     String[] nameValue = destination.split(",");
-                    nextStates.add(new StateCost<>(nameValue[0], Double.parseDouble(nameValue[1])));
-                    nextStatesOnlyName.add(new StateCost<>(nameValue[0], Double.parseDouble(nameValue[1])));
+                    builder.addEdge(source, builder.intern(nameValue[0]), Double.parseDouble(nameValue[1]));
                 }
             }
         }
+        return builder.build();
+    }
+
+    @Override
+    public StateGraph<String> getStateGraph() {
+        return graph;
     }
 
     @Override
     public boolean isGoal(String state) {
-        return finalStates.contains(state);
+        return graph.isGoal(state);
     }
 
     @Override
     public String getStart() {
-        return startingState;
+        return graph.getStart();
     }
 
     @Override
     public Set<StateCost<String>> getSuccessorsSortedByCostName(String state) {
-        var set = map.get(state);
-        if (set == null) return null;
-        return Collections.unmodifiableSet(set);
+        return graph.getSuccessorsSortedByCostName(state);
     }
 
     @Override
     public Set<StateCost<String>> getSuccessorsSortedByNameOnly(String state) {
-        var set = map2.get(state);
-        if (set == null) return null;
-        return Collections.unmodifiableSet(set);
+        return graph.getSuccessorsSortedByNameOnly(state);
+    }
+
+    /**
+     * Changes cost of transition between states in place.
+     *
+     * @return previous cost of transition
+     * @see StateGraph#updateCost(Comparable, Comparable, double)
+     */
+    public double updateCost(String source, String target, double cost) {
+        return graph.updateCost(source, target, cost);
     }
 
 }
@@ -0,0 +1,107 @@
+package ui.common;
+
+/**
+ * Radix heap implementing {@link IntFrontier} for graphs with non-negative integral edge costs.
+ * Entry goes to the bucket of the highest bit in which its key differs from the last polled key,
+ * and when the lowest bucket runs out, the next non-empty bucket is split by its smallest key.
+ * Every entry moves down at most 64 times, so costs of any size are handled in amortized time
+ * independent of number of entries.
+ * <p>
+ * Lowest bucket only holds entries with the last polled key and is ordered by name of state,
+ * like {@link IntMinQueue}. Heap is monotone, entries can not have lower key than the last polled one
+ * unless the heap is empty.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class RadixHeap implements IntFrontier {
+    private final RankBucket[] buckets = new RankBucket[65];
+    private long lastKey;
+    private int size;
+
+    public RadixHeap(StateGraph<?> graph) {
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] = new RankBucket(graph);
+    }
+
+    @Override
+    public void offer(double key, int state, int value) {
+        long integralKey = (long) key;
+        if (integralKey != key) throw new IllegalArgumentException("Key " + key + " is not integral");
+        if (integralKey < lastKey) {
+            if (size > 0) throw new IllegalArgumentException("Key " + key + " lower than last polled key " + lastKey);
+            //Empty heap starts over from any key
+            lastKey = integralKey;
+        }
+
+        put(integralKey, state, value);
+        size++;
+    }
+
+    private void put(long key, int state, int value) {
+        int index = key == lastKey ? 0 : 64 - Long.numberOfLeadingZeros(key ^ lastKey);
+        if (index == 0) buckets[0].offer(key, state, value);
+        else buckets[index].add(key, state, value);
+    }
+
+    @Override
+    public double peekKey() {
+        return first().key(0);
+    }
+
+    @Override
+    public int peekState() {
+        return first().state(0);
+    }
+
+    @Override
+    public int peekValue() {
+        return first().value(0);
+    }
+
+    @Override
+    public void removeFirst() {
+        first().removeFirst();
+        size--;
+    }
+
+    /**
+     * Refills lowest bucket from the first non-empty one when it is empty.
+     */
+    private RankBucket first() {
+        if (buckets[0].isEmpty()) {
+            int index = 1;
+            while (buckets[index].isEmpty())
+                index++;
+
+            RankBucket bucket = buckets[index];
+            long min = bucket.key(0);
+            for (int i = 1; i < bucket.size(); i++)
+                min = Math.min(min, bucket.key(i));
+
+            lastKey = min;
+            for (int i = 0; i < bucket.size(); i++)
+                put(bucket.key(i), bucket.state(i), bucket.value(i));
+            bucket.clear();
+        }
+        return buckets[0];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (RankBucket bucket : buckets)
+            bucket.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,119 @@
+package ui.common;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of (key, state, value) entries used as a bucket of {@link DialQueue} and
+ * {@link RadixHeap}. Entries are either appended in any order or kept as a binary heap
+ * ordered by name of state, which is all that is left to order once keys are equal.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+final class RankBucket {
+    private final StateGraph<?> graph;
+    private long[] keys = new long[8];
+    private int[] states = new int[8];
+    private int[] values = new int[8];
+    private int size;
+
+    RankBucket(StateGraph<?> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Appends entry without keeping heap order.
+     */
+    void add(long key, int state, int value) {
+        grow();
+        set(size++, key, state, value);
+    }
+
+    /**
+     * Adds entry to heap ordered by name of state.
+     */
+    void offer(long key, int state, int value) {
+        grow();
+        int rank = graph.nameRank(state);
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (rank >= graph.nameRank(states[parent])) break;
+            move(parent, k);
+            k = parent;
+        }
+        set(k, key, state, value);
+    }
+
+    /**
+     * Removes first entry of heap ordered by name of state.
+     */
+    void removeFirst() {
+        int n = --size;
+        if (n == 0) return;
+
+        long key = keys[n];
+        int state = states[n];
+        int value = values[n];
+        int rank = graph.nameRank(state);
+
+        int k = 0;
+        int half = n >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < n && graph.nameRank(states[child]) > graph.nameRank(states[right]))
+                child = right;
+            if (rank <= graph.nameRank(states[child])) break;
+            move(child, k);
+            k = child;
+        }
+        set(k, key, state, value);
+    }
+
+    long key(int index) {
+        return keys[index];
+    }
+
+    int state(int index) {
+        return states[index];
+    }
+
+    int value(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            states = Arrays.copyOf(states, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        states[to] = states[from];
+        values[to] = values[from];
+    }
+
+    private void set(int index, long key, int state, int value) {
+        keys[index] = key;
+        states[index] = state;
+        values[index] = value;
+    }
+}
@@ -0,0 +1,74 @@
+package ui.common;
+
+/**
+ * Receives events of a search as it runs. Search algorithms call the listener from the thread
+ * running the search, so a listener shared by concurrent searches must be thread safe.
+ * All methods do nothing by default and {@link #NOOP} is used by algorithms without a listener.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public interface SearchListener {
+
+    /**
+     * Listener ignoring all events.
+     */
+    SearchListener NOOP = new SearchListener() {
+    };
+
+    /**
+     * Called once before search takes its first state.
+     */
+    default void searchStarted() {
+    }
+
+    /**
+     * Called when a state is taken from open list and its successors are generated.
+     */
+    default void stateExpanded() {
+    }
+
+    /**
+     * Called when a successor is added to open list.
+     */
+    default void stateGenerated() {
+    }
+
+    /**
+     * Called when a state taken from open list is skipped because it was already expanded
+     * or a cheaper path to it was found after it was added.
+     */
+    default void duplicateSkipped() {
+    }
+
+    /**
+     * Called when a strictly cheaper path is found to a state that is already in open list and
+     * its entry is updated in place (decrease-key).
+     */
+    default void stateUpdated() {
+    }
+
+    /**
+     * Called when a cheaper path is found to a state that was already expanded, so it has to be
+     * expanded again.
+     */
+    default void stateReopened() {
+    }
+
+    /**
+     * Called after an expansion with current number of entries in open list.
+     *
+     * @param size number of entries in open list
+     */
+    default void openSize(int size) {
+    }
+
+    /**
+     * Called once when search ends.
+     *
+     * @param found <code>true</code> if a goal was found
+     */
+    default void searchFinished(boolean found) {
+    }
+}
@@ -0,0 +1,117 @@
+package ui.common;
+
+import java.util.Locale;
+
+/**
+ * {@link SearchListener} counting events of last search run with it. Counters are reset when
+ * a search starts, so one instance measures one search at a time and is not thread safe.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class SearchMetrics implements SearchListener {
+    private long expanded;
+    private long generated;
+    private long duplicates;
+    private long updated;
+    private long reopened;
+    private int peakOpenSize;
+    private long startNanos;
+    private long elapsedNanos;
+    private boolean found;
+
+    @Override
+    public void searchStarted() {
+        expanded = 0;
+        generated = 0;
+        duplicates = 0;
+        updated = 0;
+        reopened = 0;
+        peakOpenSize = 0;
+        elapsedNanos = 0;
+        found = false;
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void stateExpanded() {
+        expanded++;
+    }
+
+    @Override
+    public void stateGenerated() {
+        generated++;
+    }
+
+    @Override
+    public void duplicateSkipped() {
+        duplicates++;
+    }
+
+    @Override
+    public void stateUpdated() {
+        updated++;
+    }
+
+    @Override
+    public void stateReopened() {
+        reopened++;
+    }
+
+    @Override
+    public void openSize(int size) {
+        if (size > peakOpenSize) peakOpenSize = size;
+    }
+
+    @Override
+    public void searchFinished(boolean found) {
+        this.found = found;
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    public long getExpanded() {
+        return expanded;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getReopened() {
+        return reopened;
+    }
+
+    public int getPeakOpenSize() {
+        return peakOpenSize;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * Formats metrics as one line JSON object.
+     *
+     * @param algorithm name of algorithm that was measured
+     * @return JSON line
+     */
+    public String toJson(String algorithm) {
+        return String.format(Locale.ROOT,
+                "{\"algorithm\":\"%s\",\"found\":%b,\"expanded\":%d,\"generated\":%d,\"duplicates\":%d," +
+                        "\"decrease_key\":%d,\"reopened\":%d,\"peak_open\":%d,\"time_ms\":%.3f}",
+                algorithm, found, expanded, generated, duplicates, updated, reopened, peakOpenSize, elapsedNanos / 1e6);
+    }
+}
@@ -1,5 +1,6 @@
 package ui.common;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -37,4 +38,17 @@ public interface SearchProblem<T extends Comparable<T> > {
     Set<StateCost<T>> getSuccessorsSortedByCostName(T state);
 
     Set<StateCost<T>> getSuccessorsSortedByNameOnly(T state);
+
+    /**
+     * Method that returns successors of state in no particular order, for algorithms
+     * that order states by themselves. Problems that generate successors on demand
+     * override it to skip sorting.
+     *
+     * @param state state for which next states are looked for
+     * @return next possible states, empty if there are none
+     */
+    default Iterable<StateCost<T>> getSuccessors(T state) {
+        Set<StateCost<T>> successors = getSuccessorsSortedByCostName(state);
+        return successors != null ? successors : Collections.emptySet();
+    }
 }
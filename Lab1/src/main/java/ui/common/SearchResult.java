@@ -0,0 +1,38 @@
+package ui.common;
+
+/**
+ * Result of a single search, holding found node and number of states visited while
+ * searching for it. Results do not depend on the algorithm that produced them, so
+ * a single algorithm can run many searches at once.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class SearchResult<T extends Comparable<T>> {
+    private final NodeCost<T> node;
+    private final int visitedStates;
+
+    public SearchResult(NodeCost<T> node, int visitedStates) {
+        this.node = node;
+        this.visitedStates = visitedStates;
+    }
+
+    /**
+     * Final node containing final state and path to it or <code>null</code> if not found.
+     */
+    public NodeCost<T> getNode() {
+        return node;
+    }
+
+    public boolean isFound() {
+        return node != null;
+    }
+
+    /**
+     * Number of states visited during search.
+     */
+    public int getVisitedStates() {
+        return visitedStates;
+    }
+}
@@ -0,0 +1,89 @@
+package ui.common;
+
+import java.util.Arrays;
+
+/**
+ * Shortest path distances over a {@link StateGraph} computed with Dijkstra's algorithm.
+ * Searches can start from several states at once and can follow edges backwards, which
+ * gives distances from every state to the closest of the given states.
+ * Graphs with integral costs are searched with a bucket queue, see {@link IntFrontier.Kind#AUTO}.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ShortestPaths {
+
+    private ShortestPaths() {
+    }
+
+    /**
+     * Computes cost of the cheapest path from every state to the closest goal state
+     * with a single search following edges backwards from all goals.
+     *
+     * @param graph graph of states
+     * @return array of distances indexed by state id, unreachable states have infinite distance
+     */
+    public static double[] distancesToGoals(StateGraph<?> graph) {
+        return distances(graph, graph.goalIds(), true);
+    }
+
+    /**
+     * Multi-source Dijkstra search.
+     *
+     * @param graph    graph of states
+     * @param sources  ids of states with distance zero
+     * @param backward <code>true</code> to follow edges from their end to their start
+     * @return array of distances indexed by state id, unreachable states have infinite distance
+     */
+    public static double[] distances(StateGraph<?> graph, int[] sources, boolean backward) {
+        return distances(graph, sources, backward, null);
+    }
+
+    /**
+     * Multi-source Dijkstra search that also records the tree of cheapest paths.
+     *
+     * @param graph       graph of states
+     * @param sources     ids of states with distance zero
+     * @param backward    <code>true</code> to follow edges from their end to their start
+     * @param parentEdges array filled with edge by which every state was reached, -1 for sources
+     *                    and unreachable states, or <code>null</code> if not needed
+     * @return array of distances indexed by state id, unreachable states have infinite distance
+     */
+    public static double[] distances(StateGraph<?> graph, int[] sources, boolean backward, int[] parentEdges) {
+        if (parentEdges != null) Arrays.fill(parentEdges, - 1);
+        double[] distances = new double[graph.stateCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        long[] settled = new long[(graph.stateCount() + 63) >>> 6];
+        IntFrontier open = IntFrontier.Kind.AUTO.create(graph);
+
+        for (int source : sources) {
+            distances[source] = 0;
+            open.offer(0, source, 0);
+        }
+
+        while (! open.isEmpty()) {
+            double distance = open.peekKey();
+            int state = open.peekState();
+            open.removeFirst();
+
+            if ((settled[state >>> 6] & (1L << state)) != 0) continue;
+            settled[state >>> 6] |= 1L << state;
+
+            int begin = backward ? graph.inEdgesBegin(state) : graph.edgesBegin(state);
+            int end = backward ? graph.inEdgesEnd(state) : graph.edgesEnd(state);
+            for (int i = begin; i < end; i++) {
+                int edge = backward ? graph.inEdge(i) : i;
+                int next = backward ? graph.edgeSource(edge) : graph.edgeTarget(edge);
+                double nextDistance = distance + graph.edgeCost(edge);
+
+                if (nextDistance < distances[next]) {
+                    distances[next] = nextDistance;
+                    if (parentEdges != null) parentEdges[next] = edge;
+                    open.offer(nextDistance, next, 0);
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,49 @@
+package ui.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes states to binary streams and reads them back, for searches that keep states on disk.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public interface StateCodec<T> {
+
+    /**
+     * Codec of states named by strings.
+     */
+    StateCodec<String> STRINGS = new StateCodec<>() {
+        @Override
+        public void write(DataOutput out, String state) throws IOException {
+            out.writeUTF(state);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    /**
+     * Codec of states packed into longs.
+     */
+    StateCodec<Long> LONGS = new StateCodec<>() {
+        @Override
+        public void write(DataOutput out, Long state) throws IOException {
+            out.writeLong(state);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    void write(DataOutput out, T state) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,662 @@
+package ui.common;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.*;
+
+/**
+ * Compact implementation of {@link SearchProblem} that stores transitions as a
+ * compressed sparse row graph. Every state is interned to an integer id once and
+ * transitions are kept in primitive arrays, so the graph does not hold any object per edge.
+ * <p>
+ * Edges of a state are stored sorted by name of the next state (which makes the
+ * name ordering an identity permutation) while the cost-then-name ordering is kept
+ * as a permutation of edge indexes. Both orderings match the ones previously produced by
+ * {@link TreeSet}s, including dropping of repeated transitions.
+ * <p>
+ * Besides the {@link SearchProblem} methods, graph exposes int based accessors that
+ * search algorithms can use without allocating objects.
+ * <p>
+ * Packed arrays are held as buffers, so a graph can be backed either by heap arrays
+ * when it is built or directly by a memory mapped {@link GraphSnapshot}.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class StateGraph<T extends Comparable<T>> implements IndexedSearchProblem<T> {
+    private static final double MAX_EXACT_COST = 1L << 53;
+
+    private final StateTable<T> states;
+    private final int stateCount;
+    private final int start;
+    private final LongBuffer goals;
+    private final int[] goalIds;
+    private final LongBuffer hasSuccessors;
+
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer costs;
+    private final IntBuffer costOrder;
+    private final LongBuffer repeatedEdges;
+    private final IntBuffer nameRanks;
+    private volatile ReverseIndex reverseIndex;
+    private volatile long maxIntegralCost = Long.MIN_VALUE;
+
+    /**
+     * Creates graph over already packed storage. Table may hold more states than the graph,
+     * states with id equal or above state count are treated as unknown.
+     * Bit sets are stored as words of 64 bits, lowest bit first.
+     */
+    StateGraph(StateTable<T> states, int stateCount, int start, LongBuffer goals, LongBuffer hasSuccessors,
+               IntBuffer offsets, IntBuffer targets, DoubleBuffer costs, IntBuffer costOrder,
+               LongBuffer repeatedEdges, IntBuffer nameRanks) {
+        this.states = states;
+        this.stateCount = stateCount;
+        this.start = start;
+        this.goals = goals;
+        this.hasSuccessors = hasSuccessors;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        this.costOrder = costOrder;
+        this.repeatedEdges = repeatedEdges;
+        this.nameRanks = nameRanks;
+
+        int goalCount = 0;
+        for (int word = 0; word < goals.limit(); word++)
+            goalCount += Long.bitCount(goals.get(word));
+        this.goalIds = new int[goalCount];
+        int written = 0;
+        for (int word = 0; word < goals.limit(); word++) {
+            for (long bits = goals.get(word); bits != 0; bits &= bits - 1)
+                goalIds[written++] = word * 64 + Long.numberOfTrailingZeros(bits);
+        }
+    }
+
+    private static <T extends Comparable<T>> StateGraph<T> pack(Builder<T> builder) {
+        InternTable<T> states = builder.states;
+        int stateCount = states.size();
+        int[] nameRanks = computeNameRanks(states);
+
+        //Group edges by source keeping insertion order
+        int edgeCount = builder.edgeCount;
+        int[] rowOffsets = new int[stateCount + 1];
+        for (int i = 0; i < edgeCount; i++)
+            rowOffsets[builder.sources[i] + 1]++;
+        for (int i = 0; i < stateCount; i++)
+            rowOffsets[i + 1] += rowOffsets[i];
+
+        int[] grouped = new int[edgeCount];
+        int[] fill = Arrays.copyOf(rowOffsets, stateCount);
+        for (int i = 0; i < edgeCount; i++)
+            grouped[fill[builder.sources[i]]++] = i;
+
+        //Sort every row by name and drop transitions repeated with same cost
+        int[] tmp = new int[edgeCount];
+        int[] offsets = new int[stateCount + 1];
+        int[] newTargets = new int[edgeCount];
+        double[] newCosts = new double[edgeCount];
+        BitSet repeated = new BitSet();
+        int written = 0;
+
+        for (int state = 0; state < stateCount; state++) {
+            int from = rowOffsets[state];
+            int to = rowOffsets[state + 1];
+            offsets[state] = written;
+
+            sortRange(grouped, from, to, tmp,
+                    (a, b) -> Integer.compare(nameRanks[builder.targets[a]], nameRanks[builder.targets[b]]));
+
+            int rowStart = written;
+            for (int i = from; i < to; i++) {
+                int edge = grouped[i];
+                int target = builder.targets[edge];
+                double cost = builder.costs[edge];
+
+                boolean duplicate = false;
+                boolean sameTarget = false;
+                for (int j = written - 1; j >= rowStart && newTargets[j] == target; j--) {
+                    sameTarget = true;
+                    if (Double.compare(newCosts[j], cost) == 0) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (duplicate) continue;
+
+                if (sameTarget) repeated.set(written);
+                newTargets[written] = target;
+                newCosts[written] = cost;
+                written++;
+            }
+        }
+        offsets[stateCount] = written;
+
+        int[] targets = Arrays.copyOf(newTargets, written);
+        double[] costs = Arrays.copyOf(newCosts, written);
+
+        //Permutation of every row by cost and then by reversed name
+        int[] costOrder = new int[written];
+        for (int i = 0; i < written; i++)
+            costOrder[i] = i;
+        for (int state = 0; state < stateCount; state++) {
+            sortRange(costOrder, offsets[state], offsets[state + 1], tmp, (a, b) -> {
+                int result = Double.compare(costs[a], costs[b]);
+                if (result != 0) return result;
+                return Integer.compare(nameRanks[targets[b]], nameRanks[targets[a]]);
+            });
+        }
+
+        return new StateGraph<>(states, stateCount, builder.start,
+                words(builder.goals, stateCount), words(builder.hasSuccessors, stateCount),
+                IntBuffer.wrap(offsets), IntBuffer.wrap(targets), DoubleBuffer.wrap(costs),
+                IntBuffer.wrap(costOrder), words(repeated, written), IntBuffer.wrap(nameRanks));
+    }
+
+    /**
+     * Number of interned states.
+     *
+     * @return number of states
+     */
+    public int stateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Number of stored transitions.
+     *
+     * @return number of edges
+     */
+    public int edgeCount() {
+        return targets.limit();
+    }
+
+    /**
+     * Returns id of state or -1 if state is unknown.
+     */
+    public int idOf(T state) {
+        int id = states.idOf(state);
+        return id < stateCount ? id : - 1;
+    }
+
+    /**
+     * Returns state for given id.
+     */
+    public T stateOf(int id) {
+        return states.stateOf(id);
+    }
+
+    /**
+     * Id of starting state.
+     */
+    public int startId() {
+        return start;
+    }
+
+    public boolean isGoal(int id) {
+        return bit(goals, id);
+    }
+
+    /**
+     * Ids of all goal states in ascending order. Returned array must not be modified.
+     */
+    public int[] goalIds() {
+        return goalIds;
+    }
+
+    /**
+     * Checks if state had a list of transitions defined in the problem.
+     * Methods returning sets of successors return <code>null</code> for states without one.
+     */
+    public boolean hasSuccessors(int id) {
+        return bit(hasSuccessors, id);
+    }
+
+    /**
+     * Index of first edge of a state.
+     */
+    public int edgesBegin(int id) {
+        return offsets.get(id);
+    }
+
+    /**
+     * Index after last edge of a state.
+     */
+    public int edgesEnd(int id) {
+        return offsets.get(id + 1);
+    }
+
+    /**
+     * Returns edge index at given position when edges of a state are ordered by cost and then by name.
+     * Position must be between {@link #edgesBegin(int)} and {@link #edgesEnd(int)}.
+     */
+    public int edgeByCostName(int position) {
+        return costOrder.get(position);
+    }
+
+    /**
+     * Checks if edge goes to the same state as the edge before it. Such edges are skipped
+     * when successors are listed by name only.
+     */
+    public boolean isRepeatedEdge(int edge) {
+        return bit(repeatedEdges, edge);
+    }
+
+    public int edgeTarget(int edge) {
+        return targets.get(edge);
+    }
+
+    public double edgeCost(int edge) {
+        return costs.get(edge);
+    }
+
+    /**
+     * Index of first edge from source to target or -1 if there is no such edge.
+     * Edges of a state are ordered by name, so other edges to the same target
+     * follow the returned one as repeated edges.
+     */
+    public int findEdge(int source, int target) {
+        int low = offsets.get(source);
+        int high = offsets.get(source + 1) - 1;
+        int rank = nameRanks.get(target);
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleRank = nameRanks.get(targets.get(middle));
+            if (middleRank < rank) low = middle + 1;
+            else high = middle - 1;
+        }
+        return low < offsets.get(source + 1) && targets.get(low) == target ? low : - 1;
+    }
+
+    /**
+     * Index of first incoming edge of a state. Incoming edges are indexed lazily on first use.
+     */
+    public int inEdgesBegin(int id) {
+        return reverseIndex().offsets[id];
+    }
+
+    /**
+     * Index after last incoming edge of a state.
+     */
+    public int inEdgesEnd(int id) {
+        return reverseIndex().offsets[id + 1];
+    }
+
+    /**
+     * Returns edge index of incoming edge at given position. Position must be between
+     * {@link #inEdgesBegin(int)} and {@link #inEdgesEnd(int)}. Incoming edges of a state are
+     * ordered by edge index.
+     */
+    public int inEdge(int position) {
+        return reverseIndex().edges[position];
+    }
+
+    /**
+     * State from which edge starts.
+     */
+    public int edgeSource(int edge) {
+        return reverseIndex().sources[edge];
+    }
+
+    /**
+     * Alphabetical rank of state. Comparing ranks is same as comparing states.
+     */
+    public int nameRank(int id) {
+        return nameRanks.get(id);
+    }
+
+    /**
+     * Changes cost of first edge from source to target in place.
+     *
+     * @return previous cost of edge
+     * @throws NoSuchElementException        if there is no such edge
+     * @throws UnsupportedOperationException if costs are backed by a read only snapshot
+     * @see #updateCost(int, double)
+     */
+    public double updateCost(T source, T target, double cost) {
+        int sourceId = idOf(source);
+        int targetId = idOf(target);
+        int edge = sourceId < 0 || targetId < 0 ? - 1 : findEdge(sourceId, targetId);
+        if (edge < 0) throw new NoSuchElementException("No transition from " + source + " to " + target);
+        return updateCost(edge, cost);
+    }
+
+    /**
+     * Changes cost of an edge in place, keeping ordering of edges by cost. Repeated edges
+     * between the same states keep their own costs. Searches must not run on the graph while
+     * costs change, and values derived from costs, such as hierarchies and landmark distances,
+     * have to be built again.
+     *
+     * @return previous cost of edge
+     * @throws UnsupportedOperationException if costs are backed by a read only snapshot,
+     *                                       {@link #copy()} has costs that can be changed
+     */
+    public double updateCost(int edge, double cost) {
+        if (costs.isReadOnly())
+            throw new UnsupportedOperationException("Costs of a mapped snapshot can not change, change a copy instead");
+        if (Double.isNaN(cost)) throw new IllegalArgumentException("Cost must be a number");
+
+        double previous = costs.get(edge);
+        costs.put(edge, cost);
+        maxIntegralCost = Long.MIN_VALUE;
+
+        //Move edge to its place in cost order of its row
+        int state = edgeSource(edge);
+        int begin = offsets.get(state);
+        int end = offsets.get(state + 1);
+        int position = begin;
+        while (costOrder.get(position) != edge)
+            position++;
+        while (position > begin && compareByCost(costOrder.get(position - 1), edge) > 0) {
+            costOrder.put(position, costOrder.get(position - 1));
+            position--;
+        }
+        while (position < end - 1 && compareByCost(costOrder.get(position + 1), edge) < 0) {
+            costOrder.put(position, costOrder.get(position + 1));
+            position++;
+        }
+        costOrder.put(position, edge);
+        return previous;
+    }
+
+    private int compareByCost(int edge1, int edge2) {
+        int result = Double.compare(costs.get(edge1), costs.get(edge2));
+        if (result != 0) return result;
+        return Integer.compare(nameRanks.get(targets.get(edge2)), nameRanks.get(targets.get(edge1)));
+    }
+
+    /**
+     * Copy of graph with its own costs, which can be changed with {@link #updateCost(int, double)}
+     * without affecting this graph. Other arrays are shared.
+     */
+    public StateGraph<T> copy() {
+        DoubleBuffer ownCosts = DoubleBuffer.allocate(costs.limit());
+        IntBuffer ownCostOrder = IntBuffer.allocate(costOrder.limit());
+        for (int i = 0; i < costs.limit(); i++) {
+            ownCosts.put(i, costs.get(i));
+            ownCostOrder.put(i, costOrder.get(i));
+        }
+        return new StateGraph<>(states, stateCount, start, goals, hasSuccessors, offsets, targets,
+                ownCosts, ownCostOrder, repeatedEdges, nameRanks);
+    }
+
+    /**
+     * Largest edge cost if all costs are non-negative integers that doubles hold exactly,
+     * which lets searches order states by cost in buckets. Computed on first call.
+     *
+     * @return largest edge cost, 0 for graph without edges, or -1 if some cost is not integral
+     */
+    public long maxIntegralCost() {
+        long max = maxIntegralCost;
+        if (max == Long.MIN_VALUE) {
+            max = 0;
+            for (int edge = 0, end = edgeCount(); edge < end; edge++) {
+                double cost = costs.get(edge);
+                if (! (cost >= 0 && cost <= MAX_EXACT_COST) || cost != Math.rint(cost)) {
+                    max = - 1;
+                    break;
+                }
+                max = Math.max(max, (long) cost);
+            }
+            maxIntegralCost = max;
+        }
+        return max;
+    }
+
+    @Override
+    public StateGraph<T> getStateGraph() {
+        return this;
+    }
+
+    @Override
+    public boolean isGoal(T state) {
+        int id = idOf(state);
+        return id >= 0 && bit(goals, id);
+    }
+
+    @Override
+    public T getStart() {
+        return start < 0 ? null : states.stateOf(start);
+    }
+
+    @Override
+    public Set<StateCost<T>> getSuccessorsSortedByCostName(T state) {
+        int id = idOf(state);
+        if (id < 0 || ! bit(hasSuccessors, id)) return null;
+        return new SuccessorSet(offsets.get(id), offsets.get(id + 1), true);
+    }
+
+    @Override
+    public Set<StateCost<T>> getSuccessorsSortedByNameOnly(T state) {
+        int id = idOf(state);
+        if (id < 0 || ! bit(hasSuccessors, id)) return null;
+        return new SuccessorSet(offsets.get(id), offsets.get(id + 1), false);
+    }
+
+    private ReverseIndex reverseIndex() {
+        ReverseIndex index = reverseIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = reverseIndex;
+                if (index == null)
+                    reverseIndex = index = new ReverseIndex();
+            }
+        }
+        return index;
+    }
+
+    private static boolean bit(LongBuffer words, int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private static LongBuffer words(BitSet bits, int size) {
+        return LongBuffer.wrap(Arrays.copyOf(bits.toLongArray(), (size + 63) >>> 6));
+    }
+
+    private static <X extends Comparable<X>> int[] computeNameRanks(InternTable<X> states) {
+        int count = states.size();
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++)
+            ids[i] = i;
+        sortRange(ids, 0, count, new int[count], (a, b) -> states.stateOf(a).compareTo(states.stateOf(b)));
+
+        int[] ranks = new int[count];
+        for (int i = 0; i < count; i++)
+            ranks[ids[i]] = i;
+        return ranks;
+    }
+
+    /**
+     * Stable merge sort of part of an int array.
+     */
+    static void sortRange(int[] array, int from, int to, int[] tmp, IntComparator comparator) {
+        if (to - from < 2) return;
+        if (to - from <= 12) {
+            for (int i = from + 1; i < to; i++) {
+                int value = array[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(array[j], value) > 0) {
+                    array[j + 1] = array[j];
+                    j--;
+                }
+                array[j + 1] = value;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        sortRange(array, from, middle, tmp, comparator);
+        sortRange(array, middle, to, tmp, comparator);
+        if (comparator.compare(array[middle - 1], array[middle]) <= 0) return;
+
+        System.arraycopy(array, from, tmp, from, to - from);
+        int left = from, right = middle, out = from;
+        while (left < middle && right < to)
+            array[out++] = comparator.compare(tmp[right], tmp[left]) < 0 ? tmp[right++] : tmp[left++];
+        while (left < middle)
+            array[out++] = tmp[left++];
+        while (right < to)
+            array[out++] = tmp[right++];
+    }
+
+    interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Edges grouped by the state they lead to.
+     */
+    private class ReverseIndex {
+        private final int[] offsets;
+        private final int[] edges;
+        private final int[] sources;
+
+        private ReverseIndex() {
+            int stateCount = stateCount();
+            int edgeCount = edgeCount();
+
+            offsets = new int[stateCount + 1];
+            for (int edge = 0; edge < edgeCount; edge++)
+                offsets[targets.get(edge) + 1]++;
+            for (int i = 0; i < stateCount; i++)
+                offsets[i + 1] += offsets[i];
+
+            edges = new int[edgeCount];
+            sources = new int[edgeCount];
+            int[] fill = Arrays.copyOf(offsets, stateCount);
+            for (int state = 0; state < stateCount; state++) {
+                for (int edge = edgesBegin(state), end = edgesEnd(state); edge < end; edge++) {
+                    sources[edge] = state;
+                    edges[fill[targets.get(edge)]++] = edge;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read only view of edges of a single state.
+     */
+    private class SuccessorSet extends AbstractSet<StateCost<T>> {
+        private final int from;
+        private final int to;
+        private final boolean byCost;
+
+        private SuccessorSet(int from, int to, boolean byCost) {
+            this.from = from;
+            this.to = to;
+            this.byCost = byCost;
+        }
+
+        @Override
+        public Iterator<StateCost<T>> iterator() {
+            return new Iterator<>() {
+                private int position = skipRepeated(from);
+
+                @Override
+                public boolean hasNext() {
+                    return position < to;
+                }
+
+                @Override
+                public StateCost<T> next() {
+                    if (position >= to) throw new NoSuchElementException();
+                    int edge = byCost ? costOrder.get(position) : position;
+                    position = skipRepeated(position + 1);
+                    return new StateCost<>(states.stateOf(targets.get(edge)), costs.get(edge));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            if (byCost) return to - from;
+            int size = 0;
+            for (int i = from; i < to; i++)
+                if (! isRepeatedEdge(i)) size++;
+            return size;
+        }
+
+        private int skipRepeated(int position) {
+            if (byCost) return position;
+            while (position < to && isRepeatedEdge(position))
+                position++;
+            return position;
+        }
+    }
+
+    /**
+     * Builder collecting states and transitions before they are packed into a {@link StateGraph}.
+     */
+    public static class Builder<T extends Comparable<T>> {
+        private final InternTable<T> states;
+        private final BitSet goals = new BitSet();
+        private final BitSet hasSuccessors = new BitSet();
+        private int start = - 1;
+
+        private int[] sources = new int[64];
+        private int[] targets = new int[64];
+        private double[] costs = new double[64];
+        private int edgeCount;
+
+        public Builder() {
+            this(new InternTable<>());
+        }
+
+        public Builder(InternTable<T> states) {
+            this.states = states;
+        }
+
+        public int intern(T state) {
+            return states.intern(state);
+        }
+
+        public Builder<T> setStart(T state) {
+            start = states.intern(state);
+            return this;
+        }
+
+        public Builder<T> addGoal(T state) {
+            goals.set(states.intern(state));
+            return this;
+        }
+
+        /**
+         * Marks that state has a list of transitions, even if it is empty.
+         *
+         * @return id of state
+         */
+        public int addSuccessorList(T state) {
+            int id = states.intern(state);
+            hasSuccessors.set(id);
+            return id;
+        }
+
+        /**
+         * Marks that state with given id has a list of transitions, even if it is empty.
+         */
+        public Builder<T> addSuccessorList(int id) {
+            hasSuccessors.set(id);
+            return this;
+        }
+
+        public Builder<T> addEdge(int source, int target, double cost) {
+            if (edgeCount == sources.length) {
+                int capacity = edgeCount * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            costs[edgeCount] = cost;
+            edgeCount++;
+            return this;
+        }
+
+        public StateGraph<T> build() {
+            return pack(this);
+        }
+    }
+}
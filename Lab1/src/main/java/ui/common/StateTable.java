@@ -0,0 +1,34 @@
+package ui.common;
+
+/**
+ * Mapping between states and dense integer ids.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public interface StateTable<T> {
+
+    /**
+     * Returns id of state or -1 if state is not in table.
+     *
+     * @param state state looked for
+     * @return id of state or -1
+     */
+    int idOf(T state);
+
+    /**
+     * Returns state with given id.
+     *
+     * @param id id of state
+     * @return state
+     */
+    T stateOf(int id);
+
+    /**
+     * Number of states in table.
+     *
+     * @return number of states
+     */
+    int size();
+}
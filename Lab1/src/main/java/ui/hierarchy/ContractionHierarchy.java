@@ -0,0 +1,318 @@
+package ui.hierarchy;
+
+import ui.common.StateGraph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Contraction hierarchy of a {@link StateGraph}. States are ranked by order of contraction and
+ * shortcut edges stand for cheapest paths through lower ranked states, so a cheapest path between
+ * any two states can be found only going to higher ranks from both ends. Edges are split into
+ * upward edges, listed by their source, and downward edges, listed by their target so that they
+ * can be followed backwards, each upward again.
+ * <p>
+ * States left uncontracted form a core with the highest ranks. Edges between two core states
+ * are both upward and downward, so searches move freely inside the core.
+ * <p>
+ * Edges keep original edges of the graph, with only the cheapest of repeated edges, followed by
+ * shortcuts, and every shortcut remembers the two edges it replaces so paths can be unpacked.
+ * Hierarchy is built with {@link #contract(StateGraph)}, which can take long on large graphs,
+ * and can be written to a file and loaded for the same graph later. File keeps a checksum of edges
+ * of the graph, so it is not loaded for another graph of the same size.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ContractionHierarchy {
+    private static final int MAGIC = 0x43484955;
+    private static final int VERSION = 2;
+
+    private final int stateCount;
+    private final int graphEdgeCount;
+    private final long graphChecksum;
+    private final int coreRank;
+    private final int[] ranks;
+    private final int[] sources;
+    private final int[] targets;
+    private final double[] costs;
+    private final int[] firstChildren;
+    private final int[] secondChildren;
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    private final int[] downOffsets;
+    private final int[] downEdges;
+
+    ContractionHierarchy(int stateCount, int graphEdgeCount, long graphChecksum, int coreRank, int[] ranks, int[] sources,
+                         int[] targets, double[] costs, int[] firstChildren, int[] secondChildren) {
+        this.stateCount = stateCount;
+        this.graphEdgeCount = graphEdgeCount;
+        this.graphChecksum = graphChecksum;
+        this.coreRank = coreRank;
+        this.ranks = ranks;
+        this.sources = sources;
+        this.targets = targets;
+        this.costs = costs;
+        this.firstChildren = firstChildren;
+        this.secondChildren = secondChildren;
+
+        upOffsets = new int[stateCount + 1];
+        downOffsets = new int[stateCount + 1];
+        for (int edge = 0; edge < sources.length; edge++) {
+            if (isUpward(edge)) upOffsets[sources[edge] + 1]++;
+            if (isDownward(edge)) downOffsets[targets[edge] + 1]++;
+        }
+        for (int state = 0; state < stateCount; state++) {
+            upOffsets[state + 1] += upOffsets[state];
+            downOffsets[state + 1] += downOffsets[state];
+        }
+
+        upEdges = new int[upOffsets[stateCount]];
+        downEdges = new int[downOffsets[stateCount]];
+        int[] upFill = upOffsets.clone();
+        int[] downFill = downOffsets.clone();
+        for (int edge = 0; edge < sources.length; edge++) {
+            if (isUpward(edge)) upEdges[upFill[sources[edge]]++] = edge;
+            if (isDownward(edge)) downEdges[downFill[targets[edge]]++] = edge;
+        }
+    }
+
+    private boolean inCore(int state) {
+        return ranks[state] >= coreRank;
+    }
+
+    private boolean isUpward(int edge) {
+        return ranks[sources[edge]] < ranks[targets[edge]] || (inCore(sources[edge]) && inCore(targets[edge]));
+    }
+
+    private boolean isDownward(int edge) {
+        return ranks[sources[edge]] > ranks[targets[edge]] || (inCore(sources[edge]) && inCore(targets[edge]));
+    }
+
+    /**
+     * Checksum of edges of graph, their sources, targets and costs.
+     */
+    static long checksum(StateGraph<?> graph) {
+        long hash = graph.stateCount();
+        for (int state = 0; state < graph.stateCount(); state++)
+            hash = mix(hash, graph.edgesBegin(state));
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            hash = mix(hash, graph.edgeTarget(edge));
+            hash = mix(hash, Double.doubleToLongBits(graph.edgeCost(edge)));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return (Long.rotateLeft(hash, 23) ^ value) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Builds hierarchy allowing edges to grow to twice the edges of graph.
+     *
+     * @param graph graph of states
+     * @return hierarchy of graph
+     */
+    public static ContractionHierarchy contract(StateGraph<?> graph) {
+        return contract(graph, 2);
+    }
+
+    /**
+     * Builds hierarchy by contracting states of graph until edges with shortcuts would grow
+     * over given multiple of edges of graph. Remaining states are left in the core.
+     *
+     * @param graph      graph of states
+     * @param edgeFactor limit of edges as multiple of edges of graph
+     * @return hierarchy of graph
+     */
+    public static ContractionHierarchy contract(StateGraph<?> graph, double edgeFactor) {
+        if (! (edgeFactor >= 1)) throw new IllegalArgumentException("Edge factor must be at least 1");
+        return new Contractor(graph, edgeFactor).contract();
+    }
+
+    /**
+     * Writes hierarchy to a file.
+     *
+     * @param file file to write
+     * @throws IOException if writing fails
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(stateCount);
+            out.writeInt(graphEdgeCount);
+            out.writeLong(graphChecksum);
+            out.writeInt(coreRank);
+            out.writeInt(sources.length);
+            for (int rank : ranks)
+                out.writeInt(rank);
+            for (int edge = 0; edge < sources.length; edge++) {
+                out.writeInt(sources[edge]);
+                out.writeInt(targets[edge]);
+                out.writeDouble(costs[edge]);
+                out.writeInt(firstChildren[edge]);
+                out.writeInt(secondChildren[edge]);
+            }
+        }
+    }
+
+    /**
+     * Loads hierarchy written by {@link #write(Path)} for given graph.
+     *
+     * @param file  file with hierarchy
+     * @param graph graph the hierarchy was built for
+     * @return loaded hierarchy
+     * @throws IOException if file can not be read, is corrupted or was not written for the same graph
+     */
+    public static ContractionHierarchy load(Path file, StateGraph<?> graph) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new IOException(file + " is not a contraction hierarchy");
+            if (in.readInt() != VERSION) throw new IOException("Unsupported version of hierarchy " + file);
+
+            int stateCount = in.readInt();
+            int graphEdgeCount = in.readInt();
+            long graphChecksum = in.readLong();
+            if (stateCount != graph.stateCount() || graphEdgeCount != graph.edgeCount() || graphChecksum != checksum(graph))
+                throw new IOException("Hierarchy " + file + " was built for a different graph");
+
+            int coreRank = in.readInt();
+            int edgeCount = in.readInt();
+            if (coreRank < 0 || coreRank > stateCount || edgeCount < 0)
+                throw new IOException("Corrupted hierarchy " + file);
+
+            int[] ranks = new int[stateCount];
+            boolean[] ranked = new boolean[stateCount];
+            for (int state = 0; state < stateCount; state++) {
+                int rank = in.readInt();
+                if (rank < 0 || rank >= stateCount || ranked[rank])
+                    throw new IOException("Ranks in hierarchy " + file + " are not a permutation of states");
+                ranked[rank] = true;
+                ranks[state] = rank;
+            }
+
+            int[] sources = new int[edgeCount];
+            int[] targets = new int[edgeCount];
+            double[] costs = new double[edgeCount];
+            int[] firstChildren = new int[edgeCount];
+            int[] secondChildren = new int[edgeCount];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                sources[edge] = in.readInt();
+                targets[edge] = in.readInt();
+                costs[edge] = in.readDouble();
+                firstChildren[edge] = in.readInt();
+                secondChildren[edge] = in.readInt();
+
+                //Children of a shortcut are always added before it
+                boolean original = firstChildren[edge] < 0 && secondChildren[edge] < 0;
+                boolean shortcut = firstChildren[edge] >= 0 && firstChildren[edge] < edge
+                        && secondChildren[edge] >= 0 && secondChildren[edge] < edge;
+                if (sources[edge] < 0 || sources[edge] >= stateCount || targets[edge] < 0 || targets[edge] >= stateCount
+                        || ! (original || shortcut))
+                    throw new IOException("Corrupted edge " + edge + " in hierarchy " + file);
+            }
+            return new ContractionHierarchy(stateCount, graphEdgeCount, graphChecksum, coreRank, ranks, sources, targets,
+                    costs, firstChildren, secondChildren);
+        }
+    }
+
+    public int stateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Number of edges, original and shortcuts.
+     */
+    public int edgeCount() {
+        return sources.length;
+    }
+
+    /**
+     * Number of states left uncontracted.
+     */
+    public int coreSize() {
+        return stateCount - coreRank;
+    }
+
+    /**
+     * Number of added shortcut edges.
+     */
+    public int shortcutCount() {
+        int count = 0;
+        for (int child : firstChildren)
+            if (child >= 0) count++;
+        return count;
+    }
+
+    /**
+     * Position of state in order of contraction.
+     */
+    public int rank(int state) {
+        return ranks[state];
+    }
+
+    public int upBegin(int state) {
+        return upOffsets[state];
+    }
+
+    public int upEnd(int state) {
+        return upOffsets[state + 1];
+    }
+
+    /**
+     * Edge at given position of upward edges, going from a state to a higher ranked one.
+     */
+    public int upEdge(int position) {
+        return upEdges[position];
+    }
+
+    public int downBegin(int state) {
+        return downOffsets[state];
+    }
+
+    public int downEnd(int state) {
+        return downOffsets[state + 1];
+    }
+
+    /**
+     * Edge at given position of downward edges, coming to a state from a higher ranked one.
+     */
+    public int downEdge(int position) {
+        return downEdges[position];
+    }
+
+    public int edgeSource(int edge) {
+        return sources[edge];
+    }
+
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double edgeCost(int edge) {
+        return costs[edge];
+    }
+
+    /**
+     * Checks if edge is a shortcut for two other edges.
+     */
+    public boolean isShortcut(int edge) {
+        return firstChildren[edge] >= 0;
+    }
+
+    /**
+     * First of two edges replaced by shortcut.
+     */
+    public int firstChild(int edge) {
+        return firstChildren[edge];
+    }
+
+    /**
+     * Second of two edges replaced by shortcut.
+     */
+    public int secondChild(int edge) {
+        return secondChildren[edge];
+    }
+}
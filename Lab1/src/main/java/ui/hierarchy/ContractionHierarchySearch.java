@@ -0,0 +1,219 @@
+package ui.hierarchy;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.IntMinQueue;
+import ui.common.IntSearchWorkspace;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateGraph;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-Cost-Search implementing {@link ISearchAlgorithm} answered from a {@link ContractionHierarchy}.
+ * Forward search from the start follows upward edges and backward search from all goals follows
+ * downward edges backwards, so both only go to higher ranked states and meet at the top of the
+ * cheapest path. Each side stops once its cheapest open state is not cheaper than the best
+ * connection. Shortcuts on the found path are then unpacked into original edges, which gives
+ * the same cost as {@link ui.blind.UniformCostSearch}, though a different path of that cost may be found.
+ * <p>
+ * Visited states are counted as settled states of both searches. Workspaces are kept per thread
+ * and {@link #run(Object)} can be called concurrently.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ContractionHierarchySearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final StateGraph<T> graph;
+    private final ContractionHierarchy hierarchy;
+    private final ThreadLocal<Context> contexts;
+    private SearchListener listener = SearchListener.NOOP;
+    private int visitedStates = - 1;
+
+    public ContractionHierarchySearch(StateGraph<T> graph, ContractionHierarchy hierarchy) {
+        if (hierarchy.stateCount() != graph.stateCount())
+            throw new IllegalArgumentException("Hierarchy was built for a different graph");
+        this.graph = graph;
+        this.hierarchy = hierarchy;
+        this.contexts = ThreadLocal.withInitial(() -> new Context(graph));
+    }
+
+    @Override
+    public NodeCost<T> search(T startingState) {
+        SearchResult<T> result = run(startingState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startingState) {
+        int start = graph.idOf(startingState);
+        if (start < 0) return new SearchResult<>(null, 0);
+
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        Context context = contexts.get();
+        context.reset();
+
+        context.forward.discover(start, - 1, 0);
+        context.forwardOpen.offer(0, start, 0);
+        for (int goal : graph.goalIds()) {
+            context.backward.discover(goal, - 1, 0);
+            context.backwardOpen.offer(0, goal, 0);
+        }
+        if (context.backward.isSeen(start)) context.meet(start);
+
+        while (true) {
+            boolean forward = ! context.forwardOpen.isEmpty() && context.forwardOpen.peekKey() < context.meetingCost;
+            boolean backward = ! context.backwardOpen.isEmpty() && context.backwardOpen.peekKey() < context.meetingCost;
+            if (! forward && ! backward) break;
+
+            if (forward && (! backward || context.forwardOpen.peekKey() <= context.backwardOpen.peekKey()))
+                context.settle(true, listener);
+            else
+                context.settle(false, listener);
+        }
+
+        listener.searchFinished(context.meeting >= 0);
+        if (context.meeting < 0) return new SearchResult<>(null, context.settledCount());
+        return new SearchResult<>(context.unpackPath(start), Math.max(1, context.settledCount()));
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public String getName() {
+        return "CH-UCS";
+    }
+
+    /**
+     * Workspaces and open lists of both searches of one thread. Workspaces remember edge
+     * through which a state was reached in place of parent state.
+     */
+    private class Context {
+        private final IntSearchWorkspace forward;
+        private final IntSearchWorkspace backward;
+        private final IntMinQueue forwardOpen;
+        private final IntMinQueue backwardOpen;
+        private int[] edges = new int[64];
+        private int meeting;
+        private double meetingCost;
+
+        private Context(StateGraph<T> graph) {
+            forward = new IntSearchWorkspace(graph.stateCount());
+            backward = new IntSearchWorkspace(graph.stateCount());
+            forwardOpen = new IntMinQueue(graph);
+            backwardOpen = new IntMinQueue(graph);
+        }
+
+        private void reset() {
+            forward.reset();
+            backward.reset();
+            forwardOpen.clear();
+            backwardOpen.clear();
+            meeting = - 1;
+            meetingCost = Double.POSITIVE_INFINITY;
+        }
+
+        private int settledCount() {
+            return forward.closedCount() + backward.closedCount();
+        }
+
+        private void settle(boolean isForward, SearchListener listener) {
+            IntSearchWorkspace workspace = isForward ? forward : backward;
+            IntSearchWorkspace other = isForward ? backward : forward;
+            IntMinQueue open = isForward ? forwardOpen : backwardOpen;
+
+            double cost = open.peekKey();
+            int state = open.peekState();
+            open.removeFirst();
+            if (cost > workspace.costOf(state) || ! workspace.close(state)) {
+                listener.duplicateSkipped();
+                return;
+            }
+            listener.stateExpanded();
+
+            int begin = isForward ? hierarchy.upBegin(state) : hierarchy.downBegin(state);
+            int end = isForward ? hierarchy.upEnd(state) : hierarchy.downEnd(state);
+            for (int position = begin; position < end; position++) {
+                int edge = isForward ? hierarchy.upEdge(position) : hierarchy.downEdge(position);
+                int next = isForward ? hierarchy.edgeTarget(edge) : hierarchy.edgeSource(edge);
+                double nextCost = cost + hierarchy.edgeCost(edge);
+                if (workspace.isSeen(next) && workspace.costOf(next) <= nextCost) continue;
+
+                workspace.discover(next, edge, nextCost);
+                open.offer(nextCost, next, 0);
+                listener.stateGenerated();
+                if (other.isSeen(next)) meet(next);
+            }
+            listener.openSize(forwardOpen.size() + backwardOpen.size());
+        }
+
+        private void meet(int state) {
+            double cost = forward.costOf(state) + backward.costOf(state);
+            if (cost < meetingCost) {
+                meetingCost = cost;
+                meeting = state;
+            }
+        }
+
+        /**
+         * Lists hierarchy edges from start to goal through meeting state, replaces every shortcut
+         * with edges it stands for and builds nodes along the original edges.
+         */
+        private NodeCost<T> unpackPath(int start) {
+            int count = 0;
+            for (int state = meeting, edge = forward.parentOf(state); edge >= 0; state = hierarchy.edgeSource(edge), edge = forward.parentOf(state))
+                count = push(count, edge);
+            reverse(count);
+            for (int state = meeting, edge = backward.parentOf(state); edge >= 0; state = hierarchy.edgeTarget(edge), edge = backward.parentOf(state))
+                count = push(count, edge);
+
+            int[] path = Arrays.copyOf(edges, count);
+            NodeCost<T> node = new NodeCost<>(null, graph.stateOf(start), 0);
+            int stack = 0;
+            for (int i = path.length - 1; i >= 0; i--)
+                stack = push(stack, path[i]);
+
+            while (stack > 0) {
+                int edge = edges[-- stack];
+                if (hierarchy.isShortcut(edge)) {
+                    stack = push(stack, hierarchy.secondChild(edge));
+                    stack = push(stack, hierarchy.firstChild(edge));
+                } else {
+                    node = new NodeCost<>(node, graph.stateOf(hierarchy.edgeTarget(edge)), node.getCost() + hierarchy.edgeCost(edge));
+                }
+            }
+            return node;
+        }
+
+        private int push(int size, int edge) {
+            if (size == edges.length) edges = Arrays.copyOf(edges, size * 2);
+            edges[size] = edge;
+            return size + 1;
+        }
+
+        private void reverse(int count) {
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int swap = edges[i];
+                edges[i] = edges[j];
+                edges[j] = swap;
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package ui.hierarchy;
+
+import ui.common.IntMinQueue;
+import ui.common.StateGraph;
+
+import java.util.Arrays;
+
+/**
+ * Contracts states of a {@link StateGraph} one by one, least important first, adding a shortcut
+ * for every cheapest path that went through the contracted state. Importance is the number of
+ * added shortcuts minus number of removed edges plus number of already contracted neighbours,
+ * and it is recomputed lazily when a state is taken from the queue.
+ * <p>
+ * A shortcut is not needed when a witness search, limited in number of settled states, finds
+ * another path at most as expensive. Stopping the witness search early only adds shortcuts
+ * that are not needed, so the hierarchy stays correct.
+ * <p>
+ * In graphs without a natural hierarchy, such as puzzle state spaces, late contractions add
+ * quadratically many shortcuts. Contraction stops before edges would grow over a limit and
+ * the remaining states are left as an uncontracted core.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+final class Contractor {
+    private static final int SETTLE_LIMIT = 500;
+
+    private final StateGraph<?> graph;
+    private final int stateCount;
+    private final long edgeLimit;
+
+    private int[] sources;
+    private int[] targets;
+    private double[] costs;
+    private int[] firstChildren;
+    private int[] secondChildren;
+    private int edgeCount;
+
+    private final int[][] outEdges;
+    private final int[] outSizes;
+    private final int[][] inEdges;
+    private final int[] inSizes;
+
+    private final boolean[] contracted;
+    private final int[] ranks;
+    private final int[] contractedNeighbours;
+
+    private final double[] distances;
+    private final int[] distanceStamps;
+    private int distanceStamp;
+    private final IntMinQueue witnessQueue;
+
+    private final int[] inBest;
+    private final int[] inMarks;
+    private final int[] outBest;
+    private final int[] outMarks;
+    private int markStamp;
+    private int lastShortcutCount;
+    private int[] inNodes = new int[16];
+    private int inCount;
+    private int[] outNodes = new int[16];
+    private int outCount;
+
+    /**
+     * @param edgeFactor limit of edges with shortcuts as a multiple of edges of graph
+     */
+    Contractor(StateGraph<?> graph, double edgeFactor) {
+        this.graph = graph;
+        this.stateCount = graph.stateCount();
+        this.edgeLimit = (long) (edgeFactor * Math.max(graph.edgeCount(), stateCount));
+
+        int capacity = Math.max(16, graph.edgeCount() * 2);
+        sources = new int[capacity];
+        targets = new int[capacity];
+        costs = new double[capacity];
+        firstChildren = new int[capacity];
+        secondChildren = new int[capacity];
+
+        outEdges = new int[stateCount][];
+        outSizes = new int[stateCount];
+        inEdges = new int[stateCount][];
+        inSizes = new int[stateCount];
+
+        contracted = new boolean[stateCount];
+        ranks = new int[stateCount];
+        contractedNeighbours = new int[stateCount];
+
+        distances = new double[stateCount];
+        distanceStamps = new int[stateCount];
+        witnessQueue = new IntMinQueue(graph);
+
+        inBest = new int[stateCount];
+        inMarks = new int[stateCount];
+        outBest = new int[stateCount];
+        outMarks = new int[stateCount];
+
+        addOriginalEdges();
+    }
+
+    /**
+     * Contracts all states and builds the hierarchy.
+     */
+    ContractionHierarchy contract() {
+        IntMinQueue queue = new IntMinQueue(graph);
+        for (int state = 0; state < stateCount; state++)
+            queue.offer(priority(state), state, 0);
+
+        int order = 0;
+        while (! queue.isEmpty()) {
+            int state = queue.peekState();
+            queue.removeFirst();
+
+            int priority = priority(state);
+            if (! queue.isEmpty() && priority > queue.peekKey()) {
+                queue.offer(priority, state, 0);
+                continue;
+            }
+            if (edgeCount + lastShortcutCount > edgeLimit) {
+                queue.offer(priority, state, 0);
+                break;
+            }
+
+            shortcuts(state, true);
+            contracted[state] = true;
+            ranks[state] = order++;
+            for (int i = 0; i < inCount; i++)
+                contractedNeighbours[inNodes[i]]++;
+            for (int i = 0; i < outCount; i++)
+                contractedNeighbours[outNodes[i]]++;
+        }
+
+        int coreRank = order;
+        while (! queue.isEmpty()) {
+            ranks[queue.peekState()] = order++;
+            queue.removeFirst();
+        }
+
+        return new ContractionHierarchy(stateCount, graph.edgeCount(), ContractionHierarchy.checksum(graph), coreRank, ranks,
+                Arrays.copyOf(sources, edgeCount), Arrays.copyOf(targets, edgeCount), Arrays.copyOf(costs, edgeCount),
+                Arrays.copyOf(firstChildren, edgeCount), Arrays.copyOf(secondChildren, edgeCount));
+    }
+
+    /**
+     * Adds cheapest of repeated edges between two states, leaving out edges from a state to itself.
+     */
+    private void addOriginalEdges() {
+        for (int state = 0; state < stateCount; state++) {
+            int last = - 1;
+            for (int edge = graph.edgesBegin(state), end = graph.edgesEnd(state); edge < end; edge++) {
+                int target = graph.edgeTarget(edge);
+                if (target == state) continue;
+                if (graph.isRepeatedEdge(edge) && last >= 0 && targets[last] == target) {
+                    costs[last] = Math.min(costs[last], graph.edgeCost(edge));
+                    continue;
+                }
+                last = addEdge(state, target, graph.edgeCost(edge), - 1, - 1);
+            }
+        }
+    }
+
+    private int addEdge(int source, int target, double cost, int firstChild, int secondChild) {
+        if (edgeCount == sources.length) {
+            int capacity = edgeCount * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            secondChildren = Arrays.copyOf(secondChildren, capacity);
+        }
+        int edge = edgeCount++;
+        sources[edge] = source;
+        targets[edge] = target;
+        costs[edge] = cost;
+        firstChildren[edge] = firstChild;
+        secondChildren[edge] = secondChild;
+
+        append(outEdges, outSizes, source, edge);
+        append(inEdges, inSizes, target, edge);
+        return edge;
+    }
+
+    private static void append(int[][] lists, int[] sizes, int state, int edge) {
+        int[] list = lists[state];
+        if (list == null) list = lists[state] = new int[4];
+        else if (sizes[state] == list.length) list = lists[state] = Arrays.copyOf(list, list.length * 2);
+        list[sizes[state]++] = edge;
+    }
+
+    private int priority(int state) {
+        int added = shortcuts(state, false);
+        lastShortcutCount = added;
+        return added - inCount - outCount + contractedNeighbours[state];
+    }
+
+    /**
+     * Finds shortcuts needed when state is contracted, leaving its remaining neighbours
+     * in {@link #inNodes} and {@link #outNodes}.
+     *
+     * @param apply <code>true</code> to add shortcuts, otherwise they are only counted
+     * @return number of needed shortcuts
+     */
+    private int shortcuts(int state, boolean apply) {
+        collectNeighbours(state);
+
+        int added = 0;
+        for (int i = 0; i < inCount; i++) {
+            int source = inNodes[i];
+            int inEdge = inBest[source];
+            double inCost = costs[inEdge];
+
+            double limit = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < outCount; j++) {
+                int target = outNodes[j];
+                if (target != source) limit = Math.max(limit, inCost + costs[outBest[target]]);
+            }
+            if (limit == Double.NEGATIVE_INFINITY) continue;
+
+            witnessSearch(source, state, limit);
+            for (int j = 0; j < outCount; j++) {
+                int target = outNodes[j];
+                if (target == source) continue;
+
+                int outEdge = outBest[target];
+                double cost = inCost + costs[outEdge];
+                if (distance(target) <= cost) continue;
+
+                added++;
+                if (apply) addEdge(source, target, cost, inEdge, outEdge);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Collects cheapest edge from and to every not contracted neighbour of state.
+     */
+    private void collectNeighbours(int state) {
+        markStamp++;
+        inCount = 0;
+        outCount = 0;
+
+        int[] in = inEdges[state];
+        for (int i = 0; i < inSizes[state]; i++) {
+            int edge = in[i];
+            int source = sources[edge];
+            if (contracted[source]) continue;
+            if (inMarks[source] != markStamp) {
+                inMarks[source] = markStamp;
+                inBest[source] = edge;
+                if (inCount == inNodes.length) inNodes = Arrays.copyOf(inNodes, inCount * 2);
+                inNodes[inCount++] = source;
+            } else if (costs[edge] < costs[inBest[source]]) {
+                inBest[source] = edge;
+            }
+        }
+
+        int[] out = outEdges[state];
+        for (int i = 0; i < outSizes[state]; i++) {
+            int edge = out[i];
+            int target = targets[edge];
+            if (contracted[target]) continue;
+            if (outMarks[target] != markStamp) {
+                outMarks[target] = markStamp;
+                outBest[target] = edge;
+                if (outCount == outNodes.length) outNodes = Arrays.copyOf(outNodes, outCount * 2);
+                outNodes[outCount++] = target;
+            } else if (costs[edge] < costs[outBest[target]]) {
+                outBest[target] = edge;
+            }
+        }
+    }
+
+    /**
+     * Dijkstra search from source over not contracted states other than the skipped one,
+     * stopping at given cost or after settling {@link #SETTLE_LIMIT} states.
+     */
+    private void witnessSearch(int source, int skipped, double limit) {
+        distanceStamp++;
+        witnessQueue.clear();
+        distances[source] = 0;
+        distanceStamps[source] = distanceStamp;
+        witnessQueue.offer(0, source, 0);
+
+        int settled = 0;
+        while (! witnessQueue.isEmpty() && settled < SETTLE_LIMIT) {
+            double cost = witnessQueue.peekKey();
+            int state = witnessQueue.peekState();
+            witnessQueue.removeFirst();
+            if (cost > distance(state)) continue;
+            if (cost > limit) break;
+            settled++;
+
+            int[] out = outEdges[state];
+            for (int i = 0; i < outSizes[state]; i++) {
+                int edge = out[i];
+                int target = targets[edge];
+                if (target == skipped || contracted[target]) continue;
+
+                double next = cost + costs[edge];
+                if (next < distance(target)) {
+                    distances[target] = next;
+                    distanceStamps[target] = distanceStamp;
+                    witnessQueue.offer(next, target, 0);
+                }
+            }
+        }
+    }
+
+    private double distance(int state) {
+        return distanceStamps[state] == distanceStamp ? distances[state] : Double.POSITIVE_INFINITY;
+    }
+}
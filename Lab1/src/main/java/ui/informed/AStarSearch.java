@@ -1,19 +1,22 @@
 package ui.informed;
 
 import ui.common.ISearchAlgorithm;
+import ui.common.IndexedHeap;
 import ui.common.NodeCost;
 import ui.common.SearchProblem;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 
 /**
  * Search algorithm implementing {@link ISearchAlgorithm} using a informed search and
  * the A-star approach. Both the informed search parameters and the state parameters come
  * in a interface type {@link SearchProblem} and {@link Heuristics} parametrized by
  * type of state value.
+ * Open list is an {@link IndexedHeap} so a node replaced by a cheaper path is updated in
+ * logarithmic time.
  *
  * @author MatejCubek
  * @project UILab1
@@ -23,6 +26,7 @@ public class AStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T>
     private final SearchProblem<T> searchProblem;
     private final Heuristics<T> heuristics;
     private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
 
     public AStarSearch(SearchProblem<T> searchProblem, Heuristics<T> heuristics) {
         this.searchProblem = searchProblem;
@@ -31,11 +35,26 @@ public class AStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T>
 
     @Override
     public NodeCost<T> search(T startState) {
-        Queue<HeuristicNode<T>> open = new PriorityQueue<>(HeuristicNode.COMPARATOR_BY_ESTIMATED_TOTAL_COST.thenComparing(HeuristicNode.COMPARATOR_BY_VALUE));
+        SearchResult<T> result = run(startState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startState, SearchListener listener) {
+        IndexedHeap<HeuristicNode<T>> open = new IndexedHeap<>(HeuristicNode.COMPARATOR_BY_ESTIMATED_TOTAL_COST.thenComparing(HeuristicNode.COMPARATOR_BY_VALUE));
         Map<T, HeuristicNode<T>> openMap = new HashMap<>();
         Map<T, HeuristicNode<T>> closedMap = new HashMap<>();
 
-        HeuristicNode<T> startNode = new HeuristicNode<>(null, startState, 0, heuristics.getHeuristicCost(startState));
+        HeuristicNode<T> startNode = new HeuristicNode<>(null, startState, 0, estimatedTotalCost(0, startState));
         open.add(startNode);
         openMap.put(startState, startNode);
 
@@ -43,21 +62,21 @@ public class AStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T>
             var currentNode = open.poll();
             openMap.remove(currentNode.getState());
 
-            if(closedMap.put(currentNode.getState(), currentNode)!=null) continue;
+            if(closedMap.put(currentNode.getState(), currentNode)!=null) {
+                listener.duplicateSkipped();
+                continue;
+            }
 
             if (searchProblem.isGoal(currentNode.getState())) {
-                visitedStates = closedMap.size();
-                return currentNode;
+                return new SearchResult<>(currentNode, closedMap.size());
             }
 
-            var successors = searchProblem.getSuccessorsSortedByCostName(currentNode.getState());
-            if(successors==null) continue;
-
-            for (var nextState : successors) {
+            listener.stateExpanded();
+            for (var nextState : searchProblem.getSuccessors(currentNode.getState())) {
                 HeuristicNode<T> nextNode = new HeuristicNode<>(currentNode,
                         nextState.getState(),
                         currentNode.getCost() + nextState.getCost(),
-                        currentNode.getCost() + nextState.getCost() + heuristics.getHeuristicCost(nextState.getState())
+                        estimatedTotalCost(currentNode.getCost() + nextState.getCost(), nextState.getState())
                 );
 
                 var nodeInOpen = openMap.get(nextNode.getState());
@@ -68,16 +87,29 @@ public class AStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T>
                 if (nodeInClosed != null && nodeInClosed.getCost() < nextNode.getCost())
                     continue;
 
-                if(nodeInOpen!=null){
-                    openMap.remove(nodeInOpen.getState());
-                    open.remove(nodeInOpen);
+                if (nodeInOpen != null) {
+                    open.replace(nodeInOpen, nextNode);
+                    if (nextNode.getCost() < nodeInOpen.getCost()) listener.stateUpdated();
+                } else {
+                    open.add(nextNode);
+                    listener.stateGenerated();
                 }
-
-                open.add(nextNode);
                 openMap.put(nextNode.getState(), nextNode);
             }
+            listener.openSize(open.size());
         }
-        return null;
+        return new SearchResult<>(null, closedMap.size());
+    }
+
+    /**
+     * Estimates total cost of path through state, used to order open list.
+     *
+     * @param cost  cost of path to state
+     * @param state reached state
+     * @return estimated total cost
+     */
+    protected double estimatedTotalCost(double cost, T state) {
+        return cost + heuristics.getHeuristicCost(state);
     }
 
     @Override
@@ -85,11 +117,21 @@ public class AStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T>
         return search(searchProblem.getStart());
     }
 
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
     @Override
     public int visitedStates() {
         return visitedStates;
     }
 
+    @Override
+    public boolean isInformed() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "A-STAR";
@@ -0,0 +1,230 @@
+package ui.informed;
+
+import ui.common.IndexedHeap;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchProblem;
+
+import java.util.*;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Anytime repairing A-star (ARA*) implementing {@link IBoundedSearchAlgorithm}. Runs weighted
+ * A-star searches with weight lowered after each one, so a first path is found quickly and then
+ * improved while time allows. Each search reuses work of the previous one: states reached by
+ * a cheaper path after they were expanded are remembered as inconsistent and only they are
+ * searched again, together with the states left open.
+ * <p>
+ * After each search the bound is the lower of current weight and ratio of found path cost to
+ * smallest <code>g + h</code> of open and inconsistent states. Search ends once bound reaches 1,
+ * which makes the path optimal, or at the deadline, returning the best path found so far.
+ * Every improved path or bound is passed to the listener set by
+ * {@link #setImprovementListener(ObjDoubleConsumer)}.
+ * <p>
+ * Visited states are counted as expansions over all searches.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class AnytimeRepairingAStarSearch<T extends Comparable<T>> implements IBoundedSearchAlgorithm<T> {
+    private final SearchProblem<T> searchProblem;
+    private final Heuristics<T> heuristics;
+    private final double initialWeight;
+    private final double weightStep;
+    private final long deadlineMillis;
+    private ObjDoubleConsumer<NodeCost<T>> improvementListener = (node, bound) -> {
+    };
+    private SearchListener listener = SearchListener.NOOP;
+    private int visitedStates = - 1;
+    private double bound = Double.POSITIVE_INFINITY;
+
+    private IndexedHeap<HeuristicNode<T>> open;
+    private Map<T, HeuristicNode<T>> nodes;
+    private Set<T> closed;
+    private Set<T> inconsistent;
+    private HeuristicNode<T> incumbent;
+    private double weight;
+    private double lowerBound;
+    private int expanded;
+
+    /**
+     * @param initialWeight  weight of heuristics in first search, at least 1
+     * @param weightStep     amount weight is lowered by after each search, positive
+     * @param deadlineMillis time limit of whole search in milliseconds, 0 for no limit
+     */
+    public AnytimeRepairingAStarSearch(SearchProblem<T> searchProblem, Heuristics<T> heuristics,
+                                       double initialWeight, double weightStep, long deadlineMillis) {
+        if (! (initialWeight >= 1)) throw new IllegalArgumentException("Weight must be at least 1");
+        if (! (weightStep > 0)) throw new IllegalArgumentException("Weight step must be positive");
+        if (deadlineMillis < 0) throw new IllegalArgumentException("Deadline can not be negative");
+        this.searchProblem = searchProblem;
+        this.heuristics = heuristics;
+        this.initialWeight = initialWeight;
+        this.weightStep = weightStep;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public NodeCost<T> search(T startState) {
+        long deadline = System.nanoTime() + deadlineMillis * 1_000_000;
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+
+        open = new IndexedHeap<>(HeuristicNode.COMPARATOR_BY_ESTIMATED_TOTAL_COST.thenComparing(HeuristicNode.COMPARATOR_BY_VALUE));
+        nodes = new HashMap<>();
+        closed = new HashSet<>();
+        inconsistent = new LinkedHashSet<>();
+        incumbent = null;
+        weight = initialWeight;
+        lowerBound = heuristics.getHeuristicCost(startState);
+        expanded = 0;
+        bound = Double.POSITIVE_INFINITY;
+
+        HeuristicNode<T> startNode = new HeuristicNode<>(null, startState, 0, weight * lowerBound);
+        nodes.put(startState, startNode);
+        open.add(startNode);
+        if (searchProblem.isGoal(startState)) incumbent = startNode;
+
+        double completedWeight = Double.POSITIVE_INFINITY;
+        HeuristicNode<T> published = null;
+        while (improvePath(deadline, listener)) {
+            if (incumbent == null) break;
+
+            List<HeuristicNode<T>> frontier = drainFrontier();
+            completedWeight = weight;
+            double previousBound = bound;
+            bound = bound(completedWeight);
+            if (incumbent != published || bound < previousBound) {
+                improvementListener.accept(incumbent, bound);
+                published = incumbent;
+            }
+            if (bound <= 1 || frontier.isEmpty()) break;
+
+            weight = Math.max(1, weight - weightStep);
+            for (HeuristicNode<T> node : frontier) {
+                node.estimatedTotalCost = node.getCost() + weight * heuristics.getHeuristicCost(node.getState());
+                open.add(node);
+            }
+            closed.clear();
+        }
+
+        if (incumbent != null && incumbent != published) {
+            bound = bound(completedWeight);
+            improvementListener.accept(incumbent, bound);
+        }
+        listener.searchFinished(incumbent != null);
+
+        NodeCost<T> result = incumbent;
+        if (result != null) visitedStates = expanded;
+        open = null;
+        nodes = null;
+        closed = null;
+        inconsistent = null;
+        incumbent = null;
+        return result;
+    }
+
+    /**
+     * Expands states until no open state is estimated cheaper than the best found path.
+     *
+     * @return <code>false</code> if deadline passed before that
+     */
+    private boolean improvePath(long deadline, SearchListener listener) {
+        while (! open.isEmpty() && (incumbent == null || incumbent.getCost() > open.peek().getEstimatedTotalCost())) {
+            if (deadlineMillis > 0 && System.nanoTime() - deadline > 0) return false;
+
+            HeuristicNode<T> node = open.poll();
+            closed.add(node.getState());
+            expanded++;
+            listener.stateExpanded();
+
+            for (var successor : searchProblem.getSuccessors(node.getState())) {
+                T state = successor.getState();
+                double cost = node.getCost() + successor.getCost();
+                HeuristicNode<T> known = nodes.get(state);
+                if (known != null && known.getCost() <= cost) continue;
+
+                HeuristicNode<T> next = new HeuristicNode<>(node, state, cost,
+                        cost + weight * heuristics.getHeuristicCost(state));
+                nodes.put(state, next);
+                if (searchProblem.isGoal(state) && (incumbent == null || cost < incumbent.getCost()))
+                    incumbent = next;
+
+                if (closed.contains(state)) {
+                    inconsistent.add(state);
+                    listener.stateReopened();
+                } else if (known != null && open.contains(known)) {
+                    open.replace(known, next);
+                    listener.stateUpdated();
+                } else {
+                    open.add(next);
+                    listener.stateGenerated();
+                }
+            }
+            listener.openSize(open.size());
+        }
+        return true;
+    }
+
+    /**
+     * Empties open list and inconsistent states into one list, raising lower bound of
+     * cheapest path to the smallest <code>g + h</code> among them.
+     */
+    private List<HeuristicNode<T>> drainFrontier() {
+        List<HeuristicNode<T>> frontier = new ArrayList<>(open.size() + inconsistent.size());
+        while (! open.isEmpty())
+            frontier.add(open.poll());
+        for (T state : inconsistent)
+            frontier.add(nodes.get(state));
+        inconsistent.clear();
+
+        double smallest = incumbent.getCost();
+        for (HeuristicNode<T> node : frontier)
+            smallest = Math.min(smallest, node.getCost() + heuristics.getHeuristicCost(node.getState()));
+        lowerBound = Math.max(lowerBound, smallest);
+        return frontier;
+    }
+
+    private double bound(double completedWeight) {
+        double cost = incumbent.getCost();
+        return Math.min(completedWeight, cost <= lowerBound ? 1 : cost / lowerBound);
+    }
+
+    /**
+     * Sets listener called with every improved path and its bound.
+     */
+    public void setImprovementListener(ObjDoubleConsumer<NodeCost<T>> improvementListener) {
+        this.improvementListener = improvementListener;
+    }
+
+    @Override
+    public double suboptimalityBound() {
+        return bound;
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(searchProblem.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public boolean isInformed() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "ARA-STAR";
+    }
+}
@@ -0,0 +1,273 @@
+package ui.informed;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchProblem;
+import ui.common.SearchResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hash distributed A-star search (HDA*) implementing {@link ISearchAlgorithm}, running one A-star
+ * per worker thread. Every state is owned by the worker its hash maps to, which keeps the only open
+ * list and cheapest known cost of that state, and generated states are sent to their owners
+ * through lock free queues. Cheapest found goal is shared and states estimated no cheaper are
+ * dropped. A state reached by a cheaper path is expanded again, so the found path is cheapest for
+ * every optimistic heuristics, though its cost may be reached by a different path than with
+ * {@link AStarSearch}.
+ * <p>
+ * Search ends when all workers are idle and no states are on their way. One counter holds sum of
+ * busy workers and sent but not yet received states, and it only reaches 0 when neither exist.
+ * <p>
+ * Workers only know their own open lists, so until the first goal is found they may expand states
+ * the sequential search would never reach. Using more threads than free cores makes this worse.
+ * <p>
+ * Visited states are counted as expansions of all workers. Only start and end of search are
+ * reported to a {@link SearchListener}, since other events would come from many threads.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class HashDistributedAStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final SearchProblem<T> searchProblem;
+    private final Heuristics<T> heuristics;
+    private final int threads;
+    private SearchListener listener = SearchListener.NOOP;
+    private int visitedStates = - 1;
+
+    /**
+     * @param threads number of worker threads, at least 1
+     */
+    public HashDistributedAStarSearch(SearchProblem<T> searchProblem, Heuristics<T> heuristics, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Search needs at least one thread");
+        this.searchProblem = searchProblem;
+        this.heuristics = heuristics;
+        this.threads = threads;
+    }
+
+    @Override
+    public NodeCost<T> search(T startState) {
+        SearchResult<T> result = run(startState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+
+        Search search = new Search();
+        search.workers[search.owner(startState)].send(new HeuristicNode<>(null, startState, 0,
+                heuristics.getHeuristicCost(startState)));
+        search.busy.addAndGet(threads);
+
+        Thread[] running = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            running[i] = new Thread(search.workers[i], "hda-worker-" + i);
+            running[i].setDaemon(true);
+            running[i].start();
+        }
+        try {
+            for (Thread thread : running)
+                thread.join();
+        } catch (InterruptedException e) {
+            search.failure.compareAndSet(null, e);
+            search.done = true;
+            for (Thread thread : running)
+                thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+
+        Throwable failure = search.failure.get();
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw new IllegalStateException("Search was interrupted", failure);
+
+        int expanded = 0;
+        for (Worker worker : search.workers)
+            expanded += worker.expanded;
+        HeuristicNode<T> goal = search.incumbent.get();
+        listener.searchFinished(goal != null);
+        return new SearchResult<>(goal, expanded);
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(searchProblem.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public boolean isInformed() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "HDA-STAR";
+    }
+
+    /**
+     * Workers and shared state of one search.
+     */
+    private class Search {
+        private final Worker[] workers;
+        private final AtomicReference<HeuristicNode<T>> incumbent = new AtomicReference<>();
+        private final AtomicLong busy = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean done;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Search() {
+            workers = new HashDistributedAStarSearch.Worker[threads];
+            for (int i = 0; i < threads; i++)
+                workers[i] = new Worker(this);
+        }
+
+        private int owner(T state) {
+            int hash = state.hashCode() * 0x9E3779B9;
+            hash ^= hash >>> 16;
+            return (int) ((Integer.toUnsignedLong(hash) * threads) >>> 32);
+        }
+
+        private double incumbentCost() {
+            HeuristicNode<T> goal = incumbent.get();
+            return goal == null ? Double.POSITIVE_INFINITY : goal.getCost();
+        }
+
+        private void offerGoal(HeuristicNode<T> goal) {
+            HeuristicNode<T> current = incumbent.get();
+            while ((current == null || goal.getCost() < current.getCost())
+                    && ! incumbent.compareAndSet(current, goal))
+                current = incumbent.get();
+        }
+    }
+
+    /**
+     * A-star over states owned by one thread. Open list keeps replaced entries, which are
+     * skipped when their cost is higher than cheapest known cost of their state.
+     */
+    private class Worker implements Runnable {
+        private final Search search;
+        private final Queue<HeuristicNode<T>> inbox = new ConcurrentLinkedQueue<>();
+        private final PriorityQueue<HeuristicNode<T>> open = new PriorityQueue<>(
+                HeuristicNode.COMPARATOR_BY_ESTIMATED_TOTAL_COST.thenComparing(HeuristicNode.COMPARATOR_BY_VALUE));
+        private final Map<T, Double> costs = new HashMap<>();
+        private int expanded;
+
+        private Worker(Search search) {
+            this.search = search;
+        }
+
+        private void send(HeuristicNode<T> node) {
+            search.busy.incrementAndGet();
+            inbox.add(node);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (! search.done) {
+                    receive();
+                    if (hasWork()) expand(open.poll());
+                    else idle();
+                }
+            } catch (Throwable e) {
+                search.failure.compareAndSet(null, e);
+                search.done = true;
+            }
+        }
+
+        private void receive() {
+            HeuristicNode<T> node;
+            while ((node = inbox.poll()) != null) {
+                Double known = costs.get(node.getState());
+                if (known == null || node.getCost() < known) {
+                    costs.put(node.getState(), node.getCost());
+                    open.add(node);
+                }
+                search.busy.decrementAndGet();
+            }
+        }
+
+        private boolean hasWork() {
+            double bound = search.incumbentCost();
+            while (! open.isEmpty()) {
+                HeuristicNode<T> node = open.peek();
+                if (node.getEstimatedTotalCost() >= bound) {
+                    open.clear();
+                    return false;
+                }
+                if (node.getCost() <= costs.get(node.getState())) return true;
+                open.poll();
+            }
+            return false;
+        }
+
+        private void expand(HeuristicNode<T> node) {
+            if (searchProblem.isGoal(node.getState())) {
+                search.offerGoal(node);
+                return;
+            }
+            expanded++;
+
+            double bound = search.incumbentCost();
+            for (var successor : searchProblem.getSuccessors(node.getState())) {
+                T state = successor.getState();
+                double cost = node.getCost() + successor.getCost();
+                double estimatedTotalCost = cost + heuristics.getHeuristicCost(state);
+                if (estimatedTotalCost >= bound) continue;
+
+                HeuristicNode<T> next = new HeuristicNode<>(node, state, cost, estimatedTotalCost);
+                Worker owner = search.workers[search.owner(state)];
+                if (owner != this) {
+                    owner.send(next);
+                    continue;
+                }
+
+                Double known = costs.get(state);
+                if (known == null || cost < known) {
+                    costs.put(state, cost);
+                    open.add(next);
+                }
+            }
+        }
+
+        /**
+         * Waits for states from other workers, or for end of search once all workers wait.
+         */
+        private void idle() {
+            if (search.busy.decrementAndGet() == 0) {
+                search.done = true;
+                return;
+            }
+            for (int spins = 0; ! search.done; spins++) {
+                if (! inbox.isEmpty()) {
+                    search.busy.incrementAndGet();
+                    return;
+                }
+                if (spins < 256) Thread.onSpinWait();
+                else LockSupport.parkNanos(20_000);
+            }
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package ui.informed;
 
+import ui.common.InternTable;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Class implementing {@link Heuristics} that is used for UILab1.
@@ -16,15 +18,23 @@ import java.util.stream.Collectors;
  * @created 26/03/2021
  */
 public class HeuristicParser implements Heuristics<String> {
-    private final Map<String, Double> map;
+    private final HeuristicTable<String> table;
 
 
     public HeuristicParser(Path states) throws IOException {
-        map = generateHeuristicsMap(states);
+        this(states, false);
+    }
+
+    /**
+     * @param singlePrecision whether costs are kept as floats, see {@link HeuristicTable}
+     */
+    public HeuristicParser(Path states, boolean singlePrecision) throws IOException {
+        table = generateHeuristicsTable(states, singlePrecision);
     }
 
-    private Map<String, Double> generateHeuristicsMap(Path states) throws IOException {
-        Map<String, Double> map = new HashMap<>();
+    private HeuristicTable<String> generateHeuristicsTable(Path states, boolean singlePrecision) throws IOException {
+        InternTable<String> names = new InternTable<>();
+        double[] costs = new double[1024];
 
         //Parse file for lines
         try (BufferedReader buf = Files.newBufferedReader(states)) {
@@ -35,27 +45,27 @@ public class HeuristicParser implements Heuristics<String> {
 
                 String[] array = line.split(":");
 
-                map.put(array[0].trim(), Double.parseDouble(array[1].trim()));
+                int id = names.intern(array[0].trim());
+                if (id == costs.length)
+                    costs = Arrays.copyOf(costs, costs.length * 2);
+                costs[id] = Double.parseDouble(array[1].trim());
             }
         }
-        return map;
+        return new HeuristicTable<>(names, costs, singlePrecision, HeuristicTable.hashOrder(names));
     }
 
 
     @Override
     public double getHeuristicCost(String state) {
-        return map.get(state);
+        return table.getHeuristicCost(state);
     }
 
+    /**
+     * States ordered by falling heuristic cost, computed when file is parsed. States of equal
+     * cost are in order of {@link HeuristicTable#hashOrder(ui.common.StateTable)}.
+     */
     @Override
     public List<String> getOrderedStatesByHeuristics() {
-        List<Map.Entry<String, Double>> entryList = new ArrayList<>(map.entrySet());
-
-        entryList.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
-
-        return  entryList
-                .stream()
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toUnmodifiableList());
+        return table.getOrderedStatesByHeuristics();
     }
 }
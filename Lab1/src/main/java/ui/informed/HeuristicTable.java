@@ -0,0 +1,201 @@
+package ui.informed;
+
+import ui.common.StateTable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of {@link Heuristics} keeping heuristic costs in a primitive array indexed by
+ * state id of a {@link StateTable}. Costs are kept as doubles, or as floats to use half of memory.
+ * Doubles are then rounded down to the nearest float, so an optimistic heuristics stays optimistic.
+ * <p>
+ * Ordering of states by falling cost is computed once, when table is created. States of equal
+ * cost keep the order they are given in, which is order of their ids unless told otherwise.
+ * Heuristics parsers give the order of {@link #hashOrder(StateTable)}, the order in which states
+ * of equal cost came when heuristics were kept in a hash map.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class HeuristicTable<T> implements Heuristics<T> {
+    private final StateTable<T> states;
+    private final double[] costs;
+    private final float[] floatCosts;
+    private final int[] order;
+    private final List<T> orderedStates;
+
+    /**
+     * @param costs           costs indexed by state id, only first {@link StateTable#size()} are used
+     * @param singlePrecision whether costs are kept as floats
+     */
+    public HeuristicTable(StateTable<T> states, double[] costs, boolean singlePrecision) {
+        this(states, costs, singlePrecision, null);
+    }
+
+    /**
+     * @param costs           costs indexed by state id, only first {@link StateTable#size()} are used
+     * @param singlePrecision whether costs are kept as floats
+     * @param tieOrder        ids of all states in the order states of equal cost are ordered in,
+     *                        or <code>null</code> for order of ids
+     */
+    public HeuristicTable(StateTable<T> states, double[] costs, boolean singlePrecision, int[] tieOrder) {
+        int size = states.size();
+        if (tieOrder != null && tieOrder.length != size)
+            throw new IllegalArgumentException("Tie order must hold every state once");
+        if (costs.length < size) throw new IllegalArgumentException("Table has more states than costs");
+        this.states = states;
+
+        if (singlePrecision) {
+            this.costs = null;
+            this.floatCosts = new float[size];
+            for (int id = 0; id < size; id++)
+                floatCosts[id] = roundDown(costs[id]);
+        } else {
+            this.costs = Arrays.copyOf(costs, size);
+            this.floatCosts = null;
+        }
+
+        this.order = order(tieOrder);
+        this.orderedStates = new OrderedStates();
+    }
+
+    /**
+     * Ids of states in the order a {@link java.util.HashMap} of default capacity iterates them
+     * when they are put into it in order of ids, which is by bucket and then by id. Computed
+     * from hashes of states without building the map. A bucket of many colliding states that
+     * the map turns into a tree may be iterated in another order by the map.
+     */
+    public static int[] hashOrder(StateTable<?> states) {
+        int size = states.size();
+        int capacity = 16;
+        while (capacity < 1 << 30 && size > capacity / 4 * 3)
+            capacity <<= 1;
+
+        long[] keys = new long[size];
+        for (int id = 0; id < size; id++) {
+            int hash = states.stateOf(id).hashCode();
+            keys[id] = (long) ((hash ^ hash >>> 16) & (capacity - 1)) << 32 | id;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[i] = (int) keys[i];
+        return order;
+    }
+
+    private static float roundDown(double cost) {
+        float rounded = (float) cost;
+        return rounded > cost ? Math.nextDown(rounded) : rounded;
+    }
+
+    /**
+     * Sorts ids by falling cost rounded to float, packed together with position in tie order into
+     * one long, and then sorts by exact cost the runs of ids whose costs only differ beyond float
+     * precision.
+     */
+    private int[] order(int[] tieOrder) {
+        int size = states.size();
+        int[] ranks = new int[size];
+        for (int rank = 0; rank < size; rank++)
+            ranks[tieOrder != null ? tieOrder[rank] : rank] = rank;
+
+        long[] keys = new long[size];
+        for (int id = 0; id < size; id++)
+            keys[id] = (long) sortableBits(- roundDown(heuristicCost(id))) << 32 | ranks[id];
+        Arrays.parallelSort(keys);
+
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            int rank = (int) keys[i];
+            ids[i] = tieOrder != null ? tieOrder[rank] : rank;
+        }
+        if (costs == null) return ids;
+
+        for (int from = 0; from < size; ) {
+            int to = from + 1;
+            boolean sorted = true;
+            while (to < size && keys[to] >>> 32 == keys[from] >>> 32) {
+                if (Double.compare(costs[ids[to]], costs[ids[to - 1]]) > 0) sorted = false;
+                to++;
+            }
+            if (! sorted) sortRun(ids, from, to, ranks);
+            from = to;
+        }
+        return ids;
+    }
+
+    private void sortRun(int[] ids, int from, int to, int[] ranks) {
+        Integer[] run = new Integer[to - from];
+        for (int i = from; i < to; i++)
+            run[i - from] = ids[i];
+        Arrays.sort(run, (a, b) -> {
+            int compare = Double.compare(costs[b], costs[a]);
+            return compare != 0 ? compare : Integer.compare(ranks[a], ranks[b]);
+        });
+        for (int i = from; i < to; i++)
+            ids[i] = run[i - from];
+    }
+
+    /**
+     * Bits of float ordered the same way as {@link Float#compare(float, float)} orders floats.
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ (bits >> 31 & 0x7FFFFFFF);
+    }
+
+    @Override
+    public double getHeuristicCost(T state) {
+        int id = states.idOf(state);
+        if (id < 0) throw new NoSuchElementException("No heuristic cost for state " + state);
+        return heuristicCost(id);
+    }
+
+    /**
+     * Heuristic cost of state with given id.
+     */
+    public double heuristicCost(int id) {
+        return costs != null ? costs[id] : floatCosts[id];
+    }
+
+    /**
+     * Checks if costs are kept as floats.
+     */
+    public boolean isSinglePrecision() {
+        return floatCosts != null;
+    }
+
+    /**
+     * Number of states with heuristic cost.
+     */
+    public int size() {
+        return order.length;
+    }
+
+    @Override
+    public List<T> getOrderedStatesByHeuristics() {
+        return orderedStates;
+    }
+
+    /**
+     * Unmodifiable view of states in order, looking states up by id when they are read.
+     */
+    private class OrderedStates extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            return states.stateOf(order[index]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package ui.informed;
 
+import ui.common.CostFormat;
 import ui.common.SearchProblem;
 import ui.common.StateCost;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.*;
 
 /**
@@ -67,9 +66,7 @@ public class HeuristicsConsistencyCheck<T extends Comparable<T>> implements IHeu
     }
 
     private String formatPrice(double price) {
-        DecimalFormat df = new DecimalFormat("0.0");
-        df.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ENGLISH));
-        return df.format(price);
+        return CostFormat.format(price);
     }
 
     @Override
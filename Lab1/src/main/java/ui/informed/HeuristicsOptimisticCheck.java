@@ -1,11 +1,14 @@
 package ui.informed;
 
+import ui.common.CostFormat;
 import ui.blind.UniformCostSearch;
+import ui.common.IndexedSearchProblem;
 import ui.common.NodeCost;
 import ui.common.SearchProblem;
+import ui.common.ShortestPaths;
+import ui.common.StateCost;
+import ui.common.StateGraph;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.*;
 
 /**
@@ -13,18 +16,37 @@ import java.util.*;
  * Implements {@link IHeuristicsCheckAlgorithm}
  * Optimistic heuristic for each state garantees its heuristic cost is less
  * or equal it's actual cost.
+ * <p>
+ * Real costs are either found with a separate {@link UniformCostSearch} for every state or,
+ * in reverse mode, all at once with a single Dijkstra search that follows edges backwards
+ * from all goal states.
  *
  * @author MatejCubek
  * @project UILab1
  * @created 26/03/2021
  */
 public class HeuristicsOptimisticCheck<T extends Comparable<T>> implements IHeuristicsCheckAlgorithm<T> {
+    private final SearchProblem<T> searchProblem;
     private final Heuristics<T> heuristics;
     private final UniformCostSearch<T> uniformCostSearch;
+    private final boolean reverseSearch;
 
     public HeuristicsOptimisticCheck(SearchProblem<T> searchProblem, Heuristics<T> heuristics) {
+        this(searchProblem, heuristics, false);
+    }
+
+    /**
+     * Creates check.
+     *
+     * @param searchProblem problem
+     * @param heuristics    heuristics that are checked
+     * @param reverseSearch <code>true</code> for computing real costs with one backward search from goals
+     */
+    public HeuristicsOptimisticCheck(SearchProblem<T> searchProblem, Heuristics<T> heuristics, boolean reverseSearch) {
+        this.searchProblem = searchProblem;
         this.heuristics = heuristics;
         this.uniformCostSearch = new UniformCostSearch<>(searchProblem);
+        this.reverseSearch = reverseSearch;
     }
 
     @Override
@@ -36,8 +58,19 @@ public class HeuristicsOptimisticCheck<T extends Comparable<T>> implements IHeur
 
         var states = heuristics.getOrderedStatesByHeuristics();
 
+        StateGraph<T> graph = null;
+        double[] distances = null;
+        if (reverseSearch) {
+            graph = searchProblem instanceof IndexedSearchProblem
+                    ? ((IndexedSearchProblem<T>) searchProblem).getStateGraph()
+                    : exploreGraph(states);
+            distances = ShortestPaths.distancesToGoals(graph);
+        }
+
         for (T state : states) {
-            double realPrice = getRealPrice(state, stateCostMap);
+            double realPrice = reverseSearch
+                    ? getRealPrice(state, graph, distances)
+                    : getRealPrice(state, stateCostMap);
             double heuristicPrice = heuristics.getHeuristicCost(state);
 
             if (heuristicPrice > realPrice)
@@ -72,6 +105,41 @@ public class HeuristicsOptimisticCheck<T extends Comparable<T>> implements IHeur
         return node.getCost();
     }
 
+    private double getRealPrice(T state, StateGraph<T> graph, double[] distances) {
+        int id = graph.idOf(state);
+        if (id < 0 || distances[id] == Double.POSITIVE_INFINITY) return - 1;
+        return distances[id];
+    }
+
+    /**
+     * Builds graph of all states reachable from given states by asking search problem for successors.
+     */
+    private StateGraph<T> exploreGraph(List<T> states) {
+        StateGraph.Builder<T> builder = new StateGraph.Builder<>();
+        Deque<T> open = new ArrayDeque<>();
+        Set<T> seen = new HashSet<>();
+
+        for (T state : states) {
+            if (seen.add(state)) open.add(state);
+        }
+
+        while (! open.isEmpty()) {
+            T state = open.poll();
+            int id = builder.intern(state);
+            if (searchProblem.isGoal(state)) builder.addGoal(state);
+
+            var successors = searchProblem.getSuccessorsSortedByCostName(state);
+            if (successors == null) continue;
+
+            builder.addSuccessorList(state);
+            for (StateCost<T> next : successors) {
+                builder.addEdge(id, builder.intern(next.getState()), next.getCost());
+                if (seen.add(next.getState())) open.add(next.getState());
+            }
+        }
+        return builder.build();
+    }
+
     private boolean populateMap(NodeCost<T> state, Map<T, Double> stateCostMap, Double price) {
         if (state.getParent() != null) {
             if (! populateMap((NodeCost<T>) state.getParent(), stateCostMap, price))
@@ -95,9 +163,7 @@ public class HeuristicsOptimisticCheck<T extends Comparable<T>> implements IHeur
     }
 
     private String formatPrice(double price) {
-        DecimalFormat df = new DecimalFormat("0.0");
-        df.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ENGLISH));
-        return df.format(price);
+        return CostFormat.format(price);
     }
 
 
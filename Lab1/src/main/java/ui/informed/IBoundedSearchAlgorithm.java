@@ -0,0 +1,22 @@
+package ui.informed;
+
+import ui.common.ISearchAlgorithm;
+
+/**
+ * Search algorithm that may return a path more expensive than the cheapest one, but knows
+ * by how much at most.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public interface IBoundedSearchAlgorithm<T extends Comparable<T>> extends ISearchAlgorithm<T> {
+
+    /**
+     * Returns bound of last search, found path costs at most bound times the cheapest one.
+     * Bound is only valid for optimistic heuristics.
+     *
+     * @return suboptimality bound or {@link Double#POSITIVE_INFINITY} if it is not known
+     */
+    double suboptimalityBound();
+}
@@ -0,0 +1,163 @@
+package ui.informed;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.IntMinQueue;
+import ui.common.IntSearchWorkspace;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateGraph;
+
+/**
+ * A-star search implementing {@link ISearchAlgorithm} that works directly on integer
+ * state ids of a {@link StateGraph}. Gives the same results as {@link AStarSearch}.
+ * Open list is a primitive heap where replaced entries are left behind and skipped
+ * when polled, path costs and parents are kept in primitive arrays and heuristic
+ * costs are cached per state id.
+ * All of these are kept per thread, so searches can run in parallel through {@link #run(Object)}.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IntAStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final StateGraph<T> graph;
+    private final Heuristics<T> heuristics;
+    private final ThreadLocal<Context> contexts;
+    private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+
+    public IntAStarSearch(StateGraph<T> graph, Heuristics<T> heuristics) {
+        this.graph = graph;
+        this.heuristics = heuristics;
+        this.contexts = ThreadLocal.withInitial(() -> new Context(graph));
+    }
+
+    @Override
+    public NodeCost<T> search(T startState) {
+        SearchResult<T> result = run(startState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startState, SearchListener listener) {
+        int start = graph.idOf(startState);
+        if (start < 0) return new SearchResult<>(null, 0);
+
+        Context context = contexts.get();
+        IntSearchWorkspace workspace = context.workspace;
+        IntMinQueue open = context.open;
+        workspace.reset();
+        open.clear();
+
+        workspace.discover(start, - 1, 0);
+        workspace.setOpen(start, true);
+        open.offer(0 + context.heuristicCost(start), start, 0);
+
+        while (! open.isEmpty()) {
+            double estimatedTotalCost = open.peekKey();
+            int state = open.peekState();
+            open.removeFirst();
+
+            //Entry was replaced by a cheaper one or state was already expanded
+            if (workspace.isClosed(state)) {
+                listener.duplicateSkipped();
+                continue;
+            }
+            double cost = workspace.costOf(state);
+            if (Double.compare(estimatedTotalCost, cost + context.heuristicCost(state)) != 0) {
+                listener.duplicateSkipped();
+                continue;
+            }
+
+            workspace.setOpen(state, false);
+            workspace.close(state);
+
+            if (graph.isGoal(state))
+                return new SearchResult<>(workspace.buildPath(graph, state), workspace.closedCount());
+
+            listener.stateExpanded();
+            if (! graph.hasSuccessors(state)) continue;
+
+            for (int i = graph.edgesBegin(state), end = graph.edgesEnd(state); i < end; i++) {
+                int edge = graph.edgeByCostName(i);
+                int next = graph.edgeTarget(edge);
+                double nextCost = cost + graph.edgeCost(edge);
+                double nextEstimate = nextCost + context.heuristicCost(next);
+
+                if (workspace.isClosed(next)) continue;
+                if (workspace.isOpen(next) && workspace.costOf(next) < nextCost) continue;
+
+                if (! workspace.isOpen(next)) listener.stateGenerated();
+                else if (nextCost < workspace.costOf(next)) listener.stateUpdated();
+
+                workspace.discover(next, state, nextCost);
+                workspace.setOpen(next, true);
+                open.offer(nextEstimate, next, 0);
+            }
+            listener.openSize(open.size());
+        }
+        return new SearchResult<>(null, workspace.closedCount());
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public boolean isInformed() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "A-STAR";
+    }
+
+    /**
+     * Workspace, open list and cache of heuristic costs used by searches of one thread.
+     */
+    private class Context {
+        private final IntSearchWorkspace workspace;
+        private final IntMinQueue open;
+        private final double[] heuristicCosts;
+        private final long[] knownHeuristicCosts;
+
+        private Context(StateGraph<T> graph) {
+            workspace = new IntSearchWorkspace(graph.stateCount());
+            open = new IntMinQueue(graph);
+            heuristicCosts = new double[graph.stateCount()];
+            knownHeuristicCosts = new long[(graph.stateCount() + 63) >>> 6];
+        }
+
+        private double heuristicCost(int state) {
+            int word = state >>> 6;
+            long bit = 1L << state;
+            if ((knownHeuristicCosts[word] & bit) == 0) {
+                heuristicCosts[state] = heuristics.getHeuristicCost(graph.stateOf(state));
+                knownHeuristicCosts[word] |= bit;
+            }
+            return heuristicCosts[state];
+        }
+    }
+}
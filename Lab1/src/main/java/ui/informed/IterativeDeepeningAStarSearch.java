@@ -0,0 +1,190 @@
+package ui.informed;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.SearchProblem;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateCost;
+
+import java.util.*;
+
+/**
+ * Iterative deepening A-star search implementing {@link ISearchAlgorithm}. Runs depth first
+ * searches bounded by estimated total cost, raising the bound to the smallest estimate that
+ * exceeded it until a goal is found. Only the current path is kept on an explicit stack and
+ * cycles are detected against states on that path, so memory grows with depth of search
+ * and not with number of generated states.
+ * <p>
+ * Optionally a transposition table of bounded size remembers cheapest cost each state was
+ * reached with in the current iteration, which prunes paths reaching a state again with
+ * no lower cost. When table is full the oldest entry is dropped.
+ * <p>
+ * Visited states are counted as states expanded over all iterations.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class IterativeDeepeningAStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final SearchProblem<T> searchProblem;
+    private final Heuristics<T> heuristics;
+    private final int transpositionTableSize;
+    private int visitedStates = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+
+    public IterativeDeepeningAStarSearch(SearchProblem<T> searchProblem, Heuristics<T> heuristics) {
+        this(searchProblem, heuristics, 0);
+    }
+
+    /**
+     * @param transpositionTableSize maximum number of states in transposition table,
+     *                               0 for search without table
+     */
+    public IterativeDeepeningAStarSearch(SearchProblem<T> searchProblem, Heuristics<T> heuristics, int transpositionTableSize) {
+        if (transpositionTableSize < 0)
+            throw new IllegalArgumentException("Transposition table size can not be negative");
+        this.searchProblem = searchProblem;
+        this.heuristics = heuristics;
+        this.transpositionTableSize = transpositionTableSize;
+    }
+
+    @Override
+    public NodeCost<T> search(T startState) {
+        SearchResult<T> result = run(startState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startState, SearchListener listener) {
+        List<Frame<T>> stack = new ArrayList<>();
+        Set<T> onPath = new HashSet<>();
+        Map<T, Double> table = transpositionTableSize == 0 ? null : new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, Double> eldest) {
+                return size() > transpositionTableSize;
+            }
+        };
+
+        int expanded = 0;
+        double bound = heuristics.getHeuristicCost(startState);
+
+        while (true) {
+            double nextBound = Double.POSITIVE_INFINITY;
+            if (table != null) table.clear();
+
+            int depth = 0;
+            push(stack, 0, startState, 0);
+            onPath.add(startState);
+
+            while (depth >= 0) {
+                Frame<T> frame = stack.get(depth);
+
+                if (frame.successors == null) {
+                    double estimatedTotalCost = frame.cost + heuristics.getHeuristicCost(frame.state);
+                    if (estimatedTotalCost > bound) {
+                        nextBound = Math.min(nextBound, estimatedTotalCost);
+                        onPath.remove(frame.state);
+                        depth--;
+                        continue;
+                    }
+
+                    if (searchProblem.isGoal(frame.state)) {
+                        return new SearchResult<>(buildPath(stack, depth), expanded);
+                    }
+
+                    expanded++;
+                    listener.stateExpanded();
+                    var successors = searchProblem.getSuccessorsSortedByCostName(frame.state);
+                    frame.successors = successors == null ? Collections.emptyIterator() : successors.iterator();
+                }
+
+                if (! frame.successors.hasNext()) {
+                    frame.successors = null;
+                    onPath.remove(frame.state);
+                    depth--;
+                    continue;
+                }
+
+                StateCost<T> next = frame.successors.next();
+                if (onPath.contains(next.getState())) continue;
+
+                double nextCost = frame.cost + next.getCost();
+                if (table != null) {
+                    Double knownCost = table.get(next.getState());
+                    if (knownCost != null && knownCost <= nextCost) {
+                        listener.duplicateSkipped();
+                        continue;
+                    }
+                    table.put(next.getState(), nextCost);
+                }
+
+                push(stack, ++ depth, next.getState(), nextCost);
+                onPath.add(next.getState());
+                listener.stateGenerated();
+                listener.openSize(depth + 1);
+            }
+
+            if (nextBound == Double.POSITIVE_INFINITY) return new SearchResult<>(null, expanded);
+            bound = nextBound;
+        }
+    }
+
+    private static <T extends Comparable<T>> void push(List<Frame<T>> stack, int depth, T state, double cost) {
+        if (depth == stack.size()) stack.add(new Frame<>());
+        Frame<T> frame = stack.get(depth);
+        frame.state = state;
+        frame.cost = cost;
+        frame.successors = null;
+    }
+
+    private NodeCost<T> buildPath(List<Frame<T>> stack, int depth) {
+        NodeCost<T> node = null;
+        for (int i = 0; i <= depth; i++)
+            node = new NodeCost<>(node, stack.get(i).state, stack.get(i).cost);
+        return node;
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(searchProblem.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public boolean isInformed() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "IDA-STAR";
+    }
+
+    /**
+     * State on current path with iterator over its remaining successors.
+     */
+    private static class Frame<T extends Comparable<T>> {
+        private T state;
+        private double cost;
+        private Iterator<StateCost<T>> successors;
+    }
+}
@@ -0,0 +1,307 @@
+package ui.informed;
+
+import ui.common.ShortestPaths;
+import ui.common.StateGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Heuristics built from distances to and from a few landmark states of a {@link StateGraph} (ALT).
+ * By triangle inequality cost of the cheapest path from state <code>v</code> to goal <code>g</code>
+ * is at least <code>d(v, L) - d(g, L)</code> and <code>d(L, g) - d(L, v)</code> for every landmark
+ * <code>L</code>. Heuristic cost is the largest of these bounds for the closest goal, computed when
+ * asked for. Every bound is consistent, so the heuristics is consistent as well.
+ * <p>
+ * Landmarks are picked one after another with one of the {@link Strategy strategies}, and distances
+ * of every landmark are computed with Dijkstra searches running in parallel on a {@link ForkJoinPool}.
+ * States that can not reach any goal get infinite heuristic cost.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class LandmarkHeuristics<T extends Comparable<T>> implements Heuristics<T> {
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final StateGraph<T> graph;
+    private final int[] goals;
+    private final int[] landmarks;
+    private final double[][] fromLandmarks;
+    private final double[][] toLandmarks;
+    private final ForkJoinPool pool;
+    private List<T> orderedStates;
+
+    /**
+     * Way of picking landmarks.
+     */
+    public enum Strategy {
+        /**
+         * Every landmark is the state farthest from already picked landmarks.
+         */
+        FARTHEST,
+        /**
+         * Every landmark is a leaf of the cheapest path tree from a random state, in the subtree
+         * where already picked landmarks give the weakest bounds.
+         */
+        AVOID
+    }
+
+    public LandmarkHeuristics(StateGraph<T> graph, int landmarkCount, Strategy strategy) {
+        this(graph, landmarkCount, strategy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param landmarkCount number of landmarks, at least 1, at most number of states is used
+     */
+    public LandmarkHeuristics(StateGraph<T> graph, int landmarkCount, Strategy strategy, ForkJoinPool pool) {
+        if (landmarkCount < 1) throw new IllegalArgumentException("At least one landmark is needed");
+        if (graph.stateCount() == 0) throw new IllegalArgumentException("Graph has no states");
+        this.graph = graph;
+        this.goals = graph.goalIds();
+        this.pool = pool;
+
+        int count = Math.min(landmarkCount, graph.stateCount());
+        landmarks = new int[count];
+        fromLandmarks = new double[count][];
+        toLandmarks = new double[count][];
+
+        if (strategy == Strategy.FARTHEST) pickFarthest();
+        else pickAvoiding();
+    }
+
+    /**
+     * Picks state farthest from start among those start reaches, then repeatedly the state
+     * farthest from all picked landmarks, preferring states they do not reach at all. Distances
+     * of landmarks are computed together once all are picked.
+     */
+    private void pickFarthest() {
+        landmarks[0] = farthest(new int[]{graph.startId()}, true);
+        for (int i = 1; i < landmarks.length; i++)
+            landmarks[i] = farthest(Arrays.copyOf(landmarks, i), false);
+        computeDistances(0, landmarks.length);
+    }
+
+    /**
+     * @param reachableOnly whether states sources do not reach are left out, sources themselves
+     *                      are reached so some state is always found
+     */
+    private int farthest(int[] sources, boolean reachableOnly) {
+        double[] distances = ShortestPaths.distances(graph, sources, false);
+        int farthest = - 1;
+        for (int state = 0; state < distances.length; state++) {
+            if (reachableOnly && distances[state] == Double.POSITIVE_INFINITY) continue;
+            if (farthest < 0 || distances[state] > distances[farthest]) farthest = state;
+        }
+        return farthest;
+    }
+
+    /**
+     * Picks first landmark as {@link #pickFarthest()} does. Every further landmark is found by
+     * growing a tree of cheapest paths from a random root and weighting every state by how much
+     * its distance from root exceeds the bound given by picked landmarks. Subtrees that already
+     * hold a landmark weigh nothing. Going from the heaviest of the other subtrees always to the
+     * child with heaviest subtree ends in a leaf that becomes the landmark.
+     */
+    private void pickAvoiding() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int stateCount = graph.stateCount();
+        int[] parentEdges = new int[stateCount];
+        double[] sizes = new double[stateCount];
+        boolean[] isLandmark = new boolean[stateCount];
+
+        landmarks[0] = farthest(new int[]{graph.startId()}, true);
+        isLandmark[landmarks[0]] = true;
+        computeDistances(0, 1);
+
+        for (int picked = 1; picked < landmarks.length; picked++) {
+            int root = random.nextInt(stateCount);
+            double[] distances = ShortestPaths.distances(graph, new int[]{root}, false, parentEdges);
+
+            //Children are added to parents in order of falling distance, so subtrees are complete
+            Integer[] order = new Integer[stateCount];
+            for (int state = 0; state < stateCount; state++)
+                order[state] = state;
+            Arrays.sort(order, (a, b) -> Double.compare(distances[b], distances[a]));
+
+            boolean[] holdsLandmark = isLandmark.clone();
+            for (int state : order) {
+                if (distances[state] == Double.POSITIVE_INFINITY) {
+                    sizes[state] = 0;
+                    continue;
+                }
+                sizes[state] += Math.max(0, distances[state] - lowerBound(root, state, picked));
+                if (holdsLandmark[state]) sizes[state] = 0;
+
+                int edge = parentEdges[state];
+                if (edge < 0) continue;
+                int parent = graph.edgeSource(edge);
+                if (holdsLandmark[state]) holdsLandmark[parent] = true;
+                sizes[parent] += sizes[state];
+            }
+
+            int landmark = heaviestLeaf(sizes, parentEdges, holdsLandmark);
+            if (landmark < 0) landmark = farthest(Arrays.copyOf(landmarks, picked), false);
+            if (isLandmark[landmark]) landmark = firstOther(isLandmark);
+
+            landmarks[picked] = landmark;
+            isLandmark[landmark] = true;
+            computeDistances(picked, picked + 1);
+            Arrays.fill(sizes, 0);
+        }
+    }
+
+    /**
+     * Descends from the heaviest subtree without a landmark to the child with largest size until
+     * no child has positive size. Root usually holds a landmark itself, as do the states on paths
+     * to landmarks, so the descent can not start from root.
+     *
+     * @return reached state, or -1 if every subtree without a landmark has zero size
+     */
+    private int heaviestLeaf(double[] sizes, int[] parentEdges, boolean[] holdsLandmark) {
+        int state = - 1;
+        for (int candidate = 0; candidate < sizes.length; candidate++) {
+            if (holdsLandmark[candidate] || ! (sizes[candidate] > 0)) continue;
+            if (state < 0 || sizes[candidate] > sizes[state]) state = candidate;
+        }
+        if (state < 0) return - 1;
+
+        while (true) {
+            int heaviest = - 1;
+            for (int edge = graph.edgesBegin(state), end = graph.edgesEnd(state); edge < end; edge++) {
+                int child = graph.edgeTarget(edge);
+                if (parentEdges[child] != edge || ! (sizes[child] > 0)) continue;
+                if (heaviest < 0 || sizes[child] > sizes[heaviest]) heaviest = child;
+            }
+            if (heaviest < 0) return state;
+            state = heaviest;
+        }
+    }
+
+    private static int firstOther(boolean[] isLandmark) {
+        for (int state = 0; state < isLandmark.length; state++) {
+            if (! isLandmark[state]) return state;
+        }
+        throw new IllegalStateException("All states are landmarks");
+    }
+
+    /**
+     * Computes distances to and from landmarks in range in parallel.
+     */
+    private void computeDistances(int from, int to) {
+        pool.invoke(new DistanceTask(2 * from, 2 * to));
+    }
+
+    @Override
+    public double getHeuristicCost(T state) {
+        int id = graph.idOf(state);
+        if (id < 0) throw new NoSuchElementException("No heuristic cost for state " + state);
+        return heuristicCost(id);
+    }
+
+    /**
+     * Heuristic cost of state with given id.
+     */
+    public double heuristicCost(int id) {
+        if (graph.isGoal(id)) return 0;
+
+        double cost = Double.POSITIVE_INFINITY;
+        for (int goal : goals)
+            cost = Math.min(cost, lowerBound(id, goal, landmarks.length));
+        return cost;
+    }
+
+    /**
+     * Lower bound of cost of the cheapest path between states given by first landmarks.
+     * Bound is infinite when distances of a landmark show there is no path.
+     */
+    private double lowerBound(int from, int to, int landmarkCount) {
+        double bound = 0;
+        for (int i = 0; i < landmarkCount; i++) {
+            double[] toLandmark = toLandmarks[i];
+            if (toLandmark[to] != Double.POSITIVE_INFINITY) {
+                if (toLandmark[from] == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+                bound = Math.max(bound, toLandmark[from] - toLandmark[to]);
+            }
+
+            double[] fromLandmark = fromLandmarks[i];
+            if (fromLandmark[from] != Double.POSITIVE_INFINITY) {
+                if (fromLandmark[to] == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+                bound = Math.max(bound, fromLandmark[to] - fromLandmark[from]);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * States ordered by falling heuristic cost and by name when costs are equal.
+     */
+    @Override
+    public List<T> getOrderedStatesByHeuristics() {
+        if (orderedStates == null) {
+            int stateCount = graph.stateCount();
+            double[] costs = new double[stateCount];
+            Integer[] ids = new Integer[stateCount];
+            for (int id = 0; id < stateCount; id++) {
+                costs[id] = heuristicCost(id);
+                ids[id] = id;
+            }
+            Arrays.sort(ids, (a, b) -> {
+                int compare = Double.compare(costs[b], costs[a]);
+                return compare != 0 ? compare : Integer.compare(graph.nameRank(a), graph.nameRank(b));
+            });
+
+            List<T> states = new ArrayList<>(stateCount);
+            for (int id : ids)
+                states.add(graph.stateOf(id));
+            orderedStates = Collections.unmodifiableList(states);
+        }
+        return orderedStates;
+    }
+
+    /**
+     * Picked landmark states in order of picking.
+     */
+    public List<T> getLandmarks() {
+        List<T> states = new ArrayList<>(landmarks.length);
+        for (int landmark : landmarks)
+            states.add(graph.stateOf(landmark));
+        return states;
+    }
+
+    /**
+     * Task running a range of Dijkstra searches, two per landmark, splitting it in half
+     * while there is more than one.
+     */
+    @SuppressWarnings("serial")
+    private class DistanceTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        private DistanceTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new DistanceTask(from, middle), new DistanceTask(middle, to));
+                return;
+            }
+            if (from == to) return;
+
+            int landmark = from >>> 1;
+            int[] sources = {landmarks[landmark]};
+            if ((from & 1) == 0) fromLandmarks[landmark] = ShortestPaths.distances(graph, sources, false);
+            else toLandmarks[landmark] = ShortestPaths.distances(graph, sources, true);
+        }
+    }
+}
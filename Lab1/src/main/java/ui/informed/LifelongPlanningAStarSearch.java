@@ -0,0 +1,378 @@
+package ui.informed;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+import ui.common.StateGraph;
+
+import java.util.Arrays;
+
+/**
+ * Lifelong planning A-star (LPA*) implementing {@link ISearchAlgorithm} on a {@link StateGraph}
+ * whose edge costs change between searches. Every state keeps its cost <code>g</code> and a one
+ * step lookahead <code>rhs</code>, the cheapest <code>g</code> of a predecessor plus edge cost.
+ * Only states where the two differ are kept open, ordered by
+ * <code>[min(g, rhs) + h, min(g, rhs)]</code> and by name, and repairing them after a change
+ * expands only the part of the search the change affected.
+ * <p>
+ * Costs should change through {@link #updateCost(Object, Object, double)}, which updates the
+ * graph and the state the edge leads to. Searching from another start state starts over.
+ * Transition costs must be positive, except on loops.
+ * <p>
+ * Search stops once the cheapest goal is consistent and every open state has a larger key, which
+ * gives the cheapest path only for a consistent heuristics. With other heuristics costs may be left
+ * such that no path gives the cost of the goal, and search fails with {@link IllegalStateException}.
+ * Path is the one with fewest transitions among those giving the cost of the goal, which may differ
+ * from the path of the same cost found by {@link IntAStarSearch}.
+ * <p>
+ * Visited states are counted as expansions of the last search only.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class LifelongPlanningAStarSearch<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private static final double INFINITY = Double.POSITIVE_INFINITY;
+
+    private final StateGraph<T> graph;
+    private final Heuristics<T> heuristics;
+    private final double[] costs;
+    private final double[] lookahead;
+    private final double[] heuristicCosts;
+    private final KeyHeap open;
+    private int start = - 1;
+    private SearchListener listener = SearchListener.NOOP;
+    private int visitedStates = - 1;
+
+    /**
+     * @throws IllegalArgumentException if an edge other than a loop has a cost that is not positive
+     */
+    public LifelongPlanningAStarSearch(StateGraph<T> graph, Heuristics<T> heuristics) {
+        for (int edge = 0; edge < graph.edgeCount(); edge++)
+            checkCost(graph, edge, graph.edgeCost(edge));
+        this.graph = graph;
+        this.heuristics = heuristics;
+        int stateCount = graph.stateCount();
+        costs = new double[stateCount];
+        lookahead = new double[stateCount];
+        heuristicCosts = new double[stateCount];
+        Arrays.fill(heuristicCosts, Double.NaN);
+        open = new KeyHeap(stateCount);
+    }
+
+    @Override
+    public NodeCost<T> search(T startState) {
+        SearchResult<T> result = run(startState);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T startState) {
+        SearchListener listener = this.listener;
+        listener.searchStarted();
+        SearchResult<T> result = run(startState, listener);
+        listener.searchFinished(result.isFound());
+        return result;
+    }
+
+    private SearchResult<T> run(T startState, SearchListener listener) {
+        int id = graph.idOf(startState);
+        if (id < 0) return new SearchResult<>(null, 0);
+        if (id != start) initialize(id);
+
+        int expanded = computeShortestPath(listener);
+        int goal = bestGoal();
+        if (goal < 0 || costs[goal] == INFINITY) return new SearchResult<>(null, expanded);
+        return new SearchResult<>(buildPath(goal), expanded);
+    }
+
+    private void initialize(int id) {
+        start = id;
+        Arrays.fill(costs, INFINITY);
+        Arrays.fill(lookahead, INFINITY);
+        open.clear();
+        lookahead[start] = 0;
+        open.insert(start);
+    }
+
+    /**
+     * Changes cost of transition in the graph and repairs lookahead of the state it leads to.
+     * Next search then expands only states whose cost the change affected.
+     *
+     * @return previous cost of transition
+     * @throws java.util.NoSuchElementException if there is no such transition
+     * @see StateGraph#updateCost(Comparable, Comparable, double)
+     */
+    public double updateCost(T source, T target, double cost) {
+        int edge = graph.idOf(source) < 0 || graph.idOf(target) < 0 ? - 1 : graph.findEdge(graph.idOf(source), graph.idOf(target));
+        if (edge >= 0) checkCost(graph, edge, cost);
+        double previous = graph.updateCost(source, target, cost);
+        if (start >= 0 && Double.compare(previous, cost) != 0) updateState(graph.idOf(target));
+        return previous;
+    }
+
+    /**
+     * States on a cycle of edges without cost would keep supporting each other's old costs
+     * after the cost of reaching the cycle grows, so such edges are refused. Loops never
+     * give a cheaper path and are skipped.
+     */
+    private static void checkCost(StateGraph<?> graph, int edge, double cost) {
+        if (! (cost > 0) && graph.edgeSource(edge) != graph.edgeTarget(edge))
+            throw new IllegalArgumentException("LPA-star needs positive transition costs");
+    }
+
+    /**
+     * Expands open states until every open state has larger key than cheapest goal and that goal
+     * is consistent. States with key equal to the goal are expanded as well, since over edges of
+     * zero cost they may still change cost of the goal.
+     *
+     * @return number of expanded states
+     */
+    private int computeShortestPath(SearchListener listener) {
+        int expanded = 0;
+        while (! open.isEmpty()) {
+            int goal = bestGoal();
+            if (goal < 0) break;
+            if (costs[goal] == lookahead[goal] && open.compareKeys(open.peek(), goal) > 0) break;
+
+            int state = open.poll();
+            expanded++;
+            listener.stateExpanded();
+            if (costs[state] > lookahead[state]) {
+                costs[state] = lookahead[state];
+            } else {
+                costs[state] = INFINITY;
+                updateState(state);
+                listener.stateReopened();
+            }
+            if (graph.hasSuccessors(state)) {
+                for (int edge = graph.edgesBegin(state), end = graph.edgesEnd(state); edge < end; edge++)
+                    updateState(graph.edgeTarget(edge));
+            }
+            listener.openSize(open.size());
+        }
+        return expanded;
+    }
+
+    /**
+     * Recomputes lookahead of state from its predecessors and puts it on open list if it is
+     * inconsistent.
+     */
+    private void updateState(int state) {
+        if (state != start) {
+            double cheapest = INFINITY;
+            for (int i = graph.inEdgesBegin(state), end = graph.inEdgesEnd(state); i < end; i++) {
+                int edge = graph.inEdge(i);
+                int source = graph.edgeSource(edge);
+                if (source != state) cheapest = Math.min(cheapest, costs[source] + graph.edgeCost(edge));
+            }
+            lookahead[state] = cheapest;
+        }
+        if (open.contains(state)) open.remove(state);
+        if (costs[state] != lookahead[state]) open.insert(state);
+    }
+
+    /**
+     * Goal with smallest key, or -1 if graph has no goal.
+     */
+    private int bestGoal() {
+        int best = - 1;
+        for (int goal : graph.goalIds()) {
+            if (best < 0 || open.compare(goal, best) < 0) best = goal;
+        }
+        return best;
+    }
+
+    /**
+     * Searches back from goal breath first over edges whose cost is exactly the difference of
+     * costs of their states. Every path of such edges from start costs as much as the goal, and
+     * searching them breath first avoids going around cycles of zero cost.
+     */
+    private NodeCost<T> buildPath(int goal) {
+        int[] nextEdges = new int[graph.stateCount()];
+        Arrays.fill(nextEdges, - 1);
+        int[] queue = new int[graph.stateCount()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = goal;
+        nextEdges[goal] = Integer.MAX_VALUE;
+
+        while (nextEdges[start] < 0) {
+            if (head == tail) throw new IllegalStateException("Costs are not consistent, heuristics must be consistent");
+            int state = queue[head++];
+            for (int i = graph.inEdgesBegin(state), end = graph.inEdgesEnd(state); i < end; i++) {
+                int edge = graph.inEdge(i);
+                int source = graph.edgeSource(edge);
+                if (nextEdges[source] >= 0 || costs[source] + graph.edgeCost(edge) != costs[state]) continue;
+
+                nextEdges[source] = edge;
+                queue[tail++] = source;
+            }
+        }
+
+        NodeCost<T> node = new NodeCost<>(null, graph.stateOf(start), 0);
+        for (int state = start; state != goal; ) {
+            int edge = nextEdges[state];
+            state = graph.edgeTarget(edge);
+            node = new NodeCost<>(node, graph.stateOf(state), node.getCost() + graph.edgeCost(edge));
+        }
+        return node;
+    }
+
+    private double heuristicCost(int state) {
+        double cost = heuristicCosts[state];
+        if (Double.isNaN(cost)) heuristicCosts[state] = cost = heuristics.getHeuristicCost(graph.stateOf(state));
+        return cost;
+    }
+
+    @Override
+    public NodeCost<T> search() {
+        return search(graph.getStart());
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public boolean isInformed() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "LPA-STAR";
+    }
+
+    /**
+     * Binary heap of state ids ordered by key computed from current costs, with positions of
+     * states kept so they can be removed. Keys of states on heap are stored when they are inserted.
+     */
+    private class KeyHeap {
+        private final int[] heap;
+        private final int[] positions;
+        private final double[] estimates;
+        private final double[] bases;
+        private int size;
+
+        private KeyHeap(int stateCount) {
+            heap = new int[stateCount];
+            positions = new int[stateCount];
+            estimates = new double[stateCount];
+            bases = new double[stateCount];
+            Arrays.fill(positions, - 1);
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private boolean contains(int state) {
+            return positions[state] >= 0;
+        }
+
+        private int peek() {
+            return heap[0];
+        }
+
+        private void insert(int state) {
+            double base = Math.min(costs[state], lookahead[state]);
+            bases[state] = base;
+            estimates[state] = base + heuristicCost(state);
+            heap[size] = state;
+            positions[state] = size;
+            siftUp(size++);
+        }
+
+        private int poll() {
+            int first = heap[0];
+            remove(first);
+            return first;
+        }
+
+        private void remove(int state) {
+            int position = positions[state];
+            positions[state] = - 1;
+            int last = heap[--size];
+            if (position == size) return;
+
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++)
+                positions[heap[i]] = - 1;
+            size = 0;
+        }
+
+        /**
+         * Compares keys of two states and then their names.
+         */
+        private int compare(int state1, int state2) {
+            int result = compareKeys(state1, state2);
+            return result != 0 ? result : Integer.compare(graph.nameRank(state1), graph.nameRank(state2));
+        }
+
+        /**
+         * Compares keys of two states. States on heap use their stored key, others the one
+         * given by their current costs.
+         */
+        private int compareKeys(int state1, int state2) {
+            double base1 = base(state1);
+            double base2 = base(state2);
+            int result = Double.compare(estimate(state1, base1), estimate(state2, base2));
+            return result != 0 ? result : Double.compare(base1, base2);
+        }
+
+        private double base(int state) {
+            return contains(state) ? bases[state] : Math.min(costs[state], lookahead[state]);
+        }
+
+        private double estimate(int state, double base) {
+            return contains(state) ? estimates[state] : base + heuristicCost(state);
+        }
+
+        private void siftUp(int position) {
+            int state = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (compare(heap[parent], state) <= 0) break;
+                heap[position] = heap[parent];
+                positions[heap[position]] = position;
+                position = parent;
+            }
+            heap[position] = state;
+            positions[state] = position;
+        }
+
+        private void siftDown(int position) {
+            int state = heap[position];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) break;
+                if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) child++;
+                if (compare(state, heap[child]) <= 0) break;
+                heap[position] = heap[child];
+                positions[heap[position]] = position;
+                position = child;
+            }
+            heap[position] = state;
+            positions[state] = position;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ui.informed;
+
+import ui.common.ByteInternTable;
+import ui.common.FastDoubleParser;
+import ui.common.InternTable;
+import ui.common.MappedFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parser of the same heuristics files as {@link HeuristicParser}, meant for very large files.
+ * File is memory mapped and parsed in parallel chunks of whole lines, state names are
+ * interned straight from bytes and heuristic costs are kept in a {@link HeuristicTable}.
+ * States of equal cost are ordered the same way as by {@link HeuristicParser}.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class MappedHeuristicParser implements Heuristics<String> {
+    private final HeuristicTable<String> table;
+
+    public MappedHeuristicParser(Path heuristics) throws IOException {
+        this(heuristics, false);
+    }
+
+    /**
+     * @param singlePrecision whether costs are kept as floats, see {@link HeuristicTable}
+     */
+    public MappedHeuristicParser(Path heuristics, boolean singlePrecision) throws IOException {
+        this(heuristics, singlePrecision, ForkJoinPool.commonPool());
+    }
+
+    public MappedHeuristicParser(Path heuristics, ForkJoinPool pool) throws IOException {
+        this(heuristics, false, pool);
+    }
+
+    public MappedHeuristicParser(Path heuristics, boolean singlePrecision, ForkJoinPool pool) throws IOException {
+        List<Chunk> chunks;
+        try (MappedFile file = new MappedFile(heuristics)) {
+            chunks = file.parseChunks(0, pool, MappedHeuristicParser::parseChunk);
+        }
+
+        ByteInternTable names = new ByteInternTable();
+        double[] values = new double[1024];
+        for (Chunk chunk : chunks) {
+            for (int id = 0; id < chunk.names.size(); id++) {
+                int global = names.intern(chunk.names, id);
+                if (global == values.length)
+                    values = Arrays.copyOf(values, values.length * 2);
+                values[global] = chunk.costs[id];
+            }
+        }
+
+        InternTable<String> states = names.toInternTable();
+        this.table = new HeuristicTable<>(states, values, singlePrecision, HeuristicTable.hashOrder(states));
+    }
+
+    private static Chunk parseChunk(MappedFile.Lines lines) {
+        Chunk chunk = new Chunk();
+
+        while (lines.next()) {
+            byte[] line = lines.bytes();
+            int length = lines.length();
+            if (length > 0 && line[0] == '#') continue;
+
+            int colon = indexOf(line, 0, length, (byte) ':');
+            if (colon >= length) continue;
+            int end = indexOf(line, colon + 1, length, (byte) ':');
+
+            int from = 0, to = colon;
+            while (from < to && (line[from] & 0xFF) <= ' ') from++;
+            while (to > from && (line[to - 1] & 0xFF) <= ' ') to--;
+
+            int id = chunk.names.intern(line, from, to);
+            if (id == chunk.costs.length)
+                chunk.costs = Arrays.copyOf(chunk.costs, chunk.costs.length * 2);
+            chunk.costs[id] = FastDoubleParser.parse(line, colon + 1, end);
+        }
+        return chunk;
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++)
+            if (bytes[i] == value) return i;
+        return to;
+    }
+
+    @Override
+    public double getHeuristicCost(String state) {
+        return table.getHeuristicCost(state);
+    }
+
+    @Override
+    public List<String> getOrderedStatesByHeuristics() {
+        return table.getOrderedStatesByHeuristics();
+    }
+
+    /**
+     * Heuristic costs parsed from one chunk of file, with state ids local to chunk.
+     */
+    private static class Chunk {
+        private final ByteInternTable names = new ByteInternTable();
+        private double[] costs = new double[1024];
+    }
+}
@@ -0,0 +1,176 @@
+package ui.informed;
+
+import ui.common.CostFormat;
+import ui.common.IndexedSearchProblem;
+import ui.common.SearchProblem;
+import ui.common.StateCost;
+import ui.common.StateGraph;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel version of {@link HeuristicsConsistencyCheck}. List of states ordered by heuristics
+ * is split into partitions that are checked independently on a {@link ForkJoinPool}.
+ * Every partition writes its conditions into its own buffer and buffers are joined
+ * in the original order of states, so the output is the same as of the sequential check.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ParallelHeuristicsConsistencyCheck<T extends Comparable<T>> implements IHeuristicsCheckAlgorithm<T> {
+    private static final int DEFAULT_MIN_PARTITION_SIZE = 256;
+
+    private final SearchProblem<T> searchProblem;
+    private final StateGraph<T> graph;
+    private final Heuristics<T> heuristics;
+    private final ForkJoinPool pool;
+    private final int minPartitionSize;
+
+    public ParallelHeuristicsConsistencyCheck(SearchProblem<T> searchProblem, Heuristics<T> heuristics) {
+        this(searchProblem, heuristics, ForkJoinPool.commonPool());
+    }
+
+    public ParallelHeuristicsConsistencyCheck(SearchProblem<T> searchProblem, Heuristics<T> heuristics, ForkJoinPool pool) {
+        this(searchProblem, heuristics, pool, DEFAULT_MIN_PARTITION_SIZE);
+    }
+
+    /**
+     * @param minPartitionSize smallest number of states checked by one task, at least 1
+     */
+    public ParallelHeuristicsConsistencyCheck(SearchProblem<T> searchProblem, Heuristics<T> heuristics, ForkJoinPool pool,
+                                              int minPartitionSize) {
+        if (minPartitionSize < 1) throw new IllegalArgumentException("Partition must hold at least one state");
+        this.searchProblem = searchProblem;
+        this.graph = searchProblem instanceof IndexedSearchProblem
+                ? ((IndexedSearchProblem<T>) searchProblem).getStateGraph()
+                : null;
+        this.heuristics = heuristics;
+        this.pool = pool;
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    @Override
+    public String checkAndGetOutput() {
+        var states = heuristics.getOrderedStatesByHeuristics();
+
+        int partitionSize = Math.max(minPartitionSize, states.size() / (pool.getParallelism() * 8) + 1);
+        int partitionCount = (states.size() + partitionSize - 1) / partitionSize;
+        StringBuilder[] outputs = new StringBuilder[partitionCount];
+        boolean[] consistent = new boolean[partitionCount];
+
+        pool.invoke(new PartitionTask(states, outputs, consistent, 0, partitionCount, partitionSize));
+
+        int length = 64;
+        boolean allConsistent = true;
+        for (int i = 0; i < partitionCount; i++) {
+            length += outputs[i].length();
+            allConsistent &= consistent[i];
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+        for (StringBuilder output : outputs)
+            sb.append(output);
+
+        if (allConsistent)
+            sb.append("[CONCLUSION]: Heuristic is consistent.\n");
+        else
+            sb.append("[CONCLUSION]: Heuristic is not consistent.\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * Checks states in range and appends conditions to builder.
+     *
+     * @return <code>true</code> if all conditions hold
+     */
+    private boolean checkStates(List<T> states, int from, int to, StringBuilder sb) {
+        boolean consistent = true;
+
+        for (int i = from; i < to; i++) {
+            T state = states.get(i);
+            double h1 = heuristics.getHeuristicCost(state);
+
+            if (graph != null) {
+                int id = graph.idOf(state);
+                if (id < 0 || ! graph.hasSuccessors(id)) continue;
+
+                for (int position = graph.edgesBegin(id), end = graph.edgesEnd(id); position < end; position++) {
+                    int edge = graph.edgeByCostName(position);
+                    T next = graph.stateOf(graph.edgeTarget(edge));
+                    consistent &= appendResult(sb, state, next, h1, heuristics.getHeuristicCost(next), graph.edgeCost(edge));
+                }
+            } else {
+                var successors = searchProblem.getSuccessorsSortedByCostName(state);
+                if (successors == null) continue;
+
+                for (StateCost<T> stateCost : successors) {
+                    T next = stateCost.getState();
+                    consistent &= appendResult(sb, state, next, h1, heuristics.getHeuristicCost(next), stateCost.getCost());
+                }
+            }
+        }
+        return consistent;
+    }
+
+    private boolean appendResult(StringBuilder sb, T state1, T state2, double h1, double h2, double c) {
+        boolean ok = h1 <= h2 + c;
+
+        sb.append("[CONDITION]: [").append(ok ? "OK" : "ERR")
+                .append("] h(").append(state1)
+                .append(") <= h(").append(state2)
+                .append(") + c: ");
+        CostFormat.append(sb, h1).append(" <= ");
+        CostFormat.append(sb, h2).append(" + ");
+        CostFormat.append(sb, c).append('\n');
+        return ok;
+    }
+
+    @Override
+    public String getName() {
+        return "HEURISTIC-CONSISTENT";
+    }
+
+    /**
+     * Task checking a range of partitions, splitting it in half while there is more than one.
+     */
+    @SuppressWarnings("serial")
+    private class PartitionTask extends RecursiveAction {
+        private final List<T> states;
+        private final StringBuilder[] outputs;
+        private final boolean[] consistent;
+        private final int fromPartition;
+        private final int toPartition;
+        private final int partitionSize;
+
+        private PartitionTask(List<T> states, StringBuilder[] outputs, boolean[] consistent,
+                              int fromPartition, int toPartition, int partitionSize) {
+            this.states = states;
+            this.outputs = outputs;
+            this.consistent = consistent;
+            this.fromPartition = fromPartition;
+            this.toPartition = toPartition;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (toPartition - fromPartition > 1) {
+                int middle = (fromPartition + toPartition) >>> 1;
+                invokeAll(new PartitionTask(states, outputs, consistent, fromPartition, middle, partitionSize),
+                        new PartitionTask(states, outputs, consistent, middle, toPartition, partitionSize));
+                return;
+            }
+            if (fromPartition == toPartition) return;
+
+            int from = fromPartition * partitionSize;
+            int to = Math.min(states.size(), from + partitionSize);
+            StringBuilder sb = new StringBuilder((to - from) * 128);
+            consistent[fromPartition] = checkStates(states, from, to, sb);
+            outputs[fromPartition] = sb;
+        }
+    }
+}
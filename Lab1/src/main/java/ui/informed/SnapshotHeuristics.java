@@ -0,0 +1,64 @@
+package ui.informed;
+
+import ui.common.GraphSnapshot;
+import ui.common.StateTable;
+
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Heuristics read from heuristic sections of a {@link GraphSnapshot}.
+ * Values and ordering of states are used straight from mapped file, ordered list
+ * only decodes names of states when they are read.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class SnapshotHeuristics implements Heuristics<String> {
+    private final GraphSnapshot snapshot;
+    private final StateTable<String> names;
+    private final List<String> orderedStates;
+
+    public SnapshotHeuristics(GraphSnapshot snapshot) {
+        if (! snapshot.hasHeuristics())
+            throw new IllegalArgumentException("Snapshot has no heuristics");
+        this.snapshot = snapshot;
+        this.names = snapshot.getNames();
+        this.orderedStates = new OrderedStates(snapshot.heuristicOrder());
+    }
+
+    @Override
+    public double getHeuristicCost(String state) {
+        int id = names.idOf(state);
+        double cost = id < 0 ? Double.NaN : snapshot.heuristicCost(id);
+        if (Double.isNaN(cost)) throw new NoSuchElementException("No heuristic cost for state " + state);
+        return cost;
+    }
+
+    @Override
+    public List<String> getOrderedStatesByHeuristics() {
+        return orderedStates;
+    }
+
+    private class OrderedStates extends AbstractList<String> implements RandomAccess {
+        private final IntBuffer order;
+
+        private OrderedStates(IntBuffer order) {
+            this.order = order;
+        }
+
+        @Override
+        public String get(int index) {
+            return names.stateOf(order.get(index));
+        }
+
+        @Override
+        public int size() {
+            return order.limit();
+        }
+    }
+}
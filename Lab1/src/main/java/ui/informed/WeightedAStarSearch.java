@@ -0,0 +1,46 @@
+package ui.informed;
+
+import ui.common.SearchProblem;
+
+/**
+ * A-star search weighting heuristics, ordering open list by <code>g + w * h</code>. With
+ * weight above 1 search goes greedier towards the goal and usually expands far fewer states,
+ * and with consistent heuristics the found path costs at most weight times the cheapest one.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class WeightedAStarSearch<T extends Comparable<T>> extends AStarSearch<T> implements IBoundedSearchAlgorithm<T> {
+    private final Heuristics<T> heuristics;
+    private final double weight;
+
+    /**
+     * @param weight weight of heuristics, at least 1
+     */
+    public WeightedAStarSearch(SearchProblem<T> searchProblem, Heuristics<T> heuristics, double weight) {
+        super(searchProblem, heuristics);
+        if (! (weight >= 1)) throw new IllegalArgumentException("Weight must be at least 1");
+        this.heuristics = heuristics;
+        this.weight = weight;
+    }
+
+    @Override
+    protected double estimatedTotalCost(double cost, T state) {
+        return cost + weight * heuristics.getHeuristicCost(state);
+    }
+
+    @Override
+    public double suboptimalityBound() {
+        return weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String getName() {
+        return "WA-STAR";
+    }
+}
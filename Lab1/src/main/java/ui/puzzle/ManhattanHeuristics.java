@@ -0,0 +1,50 @@
+package ui.puzzle;
+
+import ui.informed.Heuristics;
+
+import java.util.List;
+
+/**
+ * Sum of Manhattan distances of every tile from its goal cell for a {@link SlidingPuzzleProblem}.
+ * Each move changes distance of one tile by one, so heuristics is both optimistic and consistent.
+ * Distances of every tile from every cell are precomputed.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class ManhattanHeuristics implements Heuristics<Long> {
+    private final int cells;
+    private final int[][] distances;
+
+    public ManhattanHeuristics(SlidingPuzzleProblem problem) {
+        int width = problem.getWidth();
+        cells = width * problem.getHeight();
+        distances = new int[cells][cells];
+
+        for (int tile = 1; tile < cells; tile++) {
+            int goalCell = tile - 1;
+            for (int cell = 0; cell < cells; cell++)
+                distances[tile][cell] = Math.abs(cell / width - goalCell / width) + Math.abs(cell % width - goalCell % width);
+        }
+    }
+
+    @Override
+    public double getHeuristicCost(Long state) {
+        long board = state;
+        int cost = 0;
+        for (int cell = 0; cell < cells; cell++)
+            cost += distances[SlidingPuzzleProblem.tile(board, cell)][cell];
+        return cost;
+    }
+
+    /**
+     * States of puzzle are never enumerated, so they can not be ordered.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public List<Long> getOrderedStatesByHeuristics() {
+        throw new UnsupportedOperationException("States of sliding puzzle are not enumerated");
+    }
+}
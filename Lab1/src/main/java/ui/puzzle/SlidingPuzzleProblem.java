@@ -0,0 +1,159 @@
+package ui.puzzle;
+
+import ui.common.LazySearchProblem;
+import ui.common.StateCost;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sliding tile puzzle of at most 16 cells as a {@link LazySearchProblem}, with states
+ * generated as the search reaches them, so even the 15-puzzle with about 10^13 states
+ * can be searched. State is the board packed into a <code>long</code>, 4 bits per cell
+ * starting with the top left cell in lowest bits, and 0 is the empty cell.
+ * Goal has tiles in increasing order with the empty cell last. Every move costs 1.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class SlidingPuzzleProblem extends LazySearchProblem<Long> {
+    private final int width;
+    private final int height;
+    private final long start;
+    private final long goal;
+
+    /**
+     * @param width  number of columns
+     * @param height number of rows
+     * @param tiles  tiles of starting board by rows, 0 for empty cell
+     * @throws IllegalArgumentException if tiles are not a permutation of 0 to width * height - 1
+     */
+    public SlidingPuzzleProblem(int width, int height, int... tiles) {
+        if (width < 2 || height < 2 || width * height > 16)
+            throw new IllegalArgumentException("Puzzle needs at least 2 rows and columns and at most 16 cells");
+        if (tiles.length != width * height)
+            throw new IllegalArgumentException("Puzzle needs " + width * height + " tiles");
+
+        boolean[] used = new boolean[tiles.length];
+        for (int tile : tiles) {
+            if (tile < 0 || tile >= tiles.length || used[tile])
+                throw new IllegalArgumentException("Tiles must be numbers from 0 to " + (tiles.length - 1) + " without repeating");
+            used[tile] = true;
+        }
+
+        this.width = width;
+        this.height = height;
+        this.start = pack(tiles);
+
+        int[] goalTiles = new int[tiles.length];
+        for (int i = 0; i < goalTiles.length - 1; i++)
+            goalTiles[i] = i + 1;
+        this.goal = pack(goalTiles);
+    }
+
+    /**
+     * Parses starting board from tiles separated by commas or whitespace, 0 or _ for empty cell.
+     */
+    public static SlidingPuzzleProblem parse(int width, int height, String board) {
+        String[] parts = board.trim().split("[,\\s]+");
+        int[] tiles = new int[parts.length];
+        for (int i = 0; i < parts.length; i++)
+            tiles[i] = parts[i].equals("_") ? 0 : Integer.parseInt(parts[i]);
+        return new SlidingPuzzleProblem(width, height, tiles);
+    }
+
+    private static long pack(int[] tiles) {
+        long state = 0;
+        for (int i = 0; i < tiles.length; i++)
+            state |= (long) tiles[i] << (4 * i);
+        return state;
+    }
+
+    /**
+     * Get tile on cell of state.
+     */
+    public static int tile(long state, int cell) {
+        return (int) (state >>> (4 * cell)) & 0xF;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks if goal can be reached from start. Every move keeps parity of inversions, counted
+     * together with row of empty cell for boards with even width, so half of boards are unsolvable.
+     *
+     * @return <code>true</code> if puzzle has a solution
+     */
+    public boolean isSolvable() {
+        int cells = width * height;
+        int inversions = 0;
+        int emptyRow = 0;
+        for (int i = 0; i < cells; i++) {
+            int tile = tile(start, i);
+            if (tile == 0) {
+                emptyRow = i / width;
+                continue;
+            }
+            for (int j = i + 1; j < cells; j++) {
+                int other = tile(start, j);
+                if (other != 0 && other < tile) inversions++;
+            }
+        }
+        if (width % 2 == 1) return inversions % 2 == 0;
+        return (inversions + height - 1 - emptyRow) % 2 == 0;
+    }
+
+    @Override
+    public boolean isGoal(Long state) {
+        return state == goal;
+    }
+
+    @Override
+    public Long getStart() {
+        return start;
+    }
+
+    @Override
+    public Iterable<StateCost<Long>> getSuccessors(Long state) {
+        long board = state;
+        int empty = 0;
+        while (tile(board, empty) != 0) empty++;
+
+        int row = empty / width, column = empty % width;
+        List<StateCost<Long>> successors = new ArrayList<>(4);
+        if (row > 0) successors.add(move(board, empty, empty - width));
+        if (row < height - 1) successors.add(move(board, empty, empty + width));
+        if (column > 0) successors.add(move(board, empty, empty - 1));
+        if (column < width - 1) successors.add(move(board, empty, empty + 1));
+        return successors;
+    }
+
+    /**
+     * Slides tile from cell into empty cell.
+     */
+    private static StateCost<Long> move(long board, int empty, int cell) {
+        long tile = (long) tile(board, cell);
+        long next = board & ~(0xFL << (4 * cell)) | tile << (4 * empty);
+        return new StateCost<>(next, 1);
+    }
+
+    /**
+     * Formats board as rows of tiles separated by slashes, with _ for empty cell.
+     */
+    public String format(long state) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < width * height; i++) {
+            if (i > 0) sb.append(i % width == 0 ? '/' : ',');
+            int tile = tile(state, i);
+            sb.append(tile == 0 ? "_" : Integer.toString(tile));
+        }
+        return sb.toString();
+    }
+}
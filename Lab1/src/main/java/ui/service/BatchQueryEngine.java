@@ -0,0 +1,94 @@
+package ui.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs queries from a file through a {@link SearchService} in parallel and prints
+ * results in the order of queries. Every line of query file holds name of algorithm
+ * and optionally a starting state, separated by whitespace; empty lines and lines
+ * starting with <code>#</code> are skipped.
+ * <p>
+ * Only a bounded window of queries is in flight, so results are streamed while the
+ * file is read and memory does not grow with number of queries. A query that fails
+ * prints an <code>[ERROR]</code> line in its place and does not stop the batch.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class BatchQueryEngine {
+    private final SearchService service;
+    private final ForkJoinPool pool;
+    private final int window;
+
+    public BatchQueryEngine(SearchService service) {
+        this(service, ForkJoinPool.commonPool());
+    }
+
+    public BatchQueryEngine(SearchService service, ForkJoinPool pool) {
+        this(service, pool, pool.getParallelism() * 64);
+    }
+
+    /**
+     * @param service service answering queries
+     * @param pool    pool queries run on
+     * @param window  maximum number of queries in flight
+     */
+    public BatchQueryEngine(SearchService service, ForkJoinPool pool, int window) {
+        if (window < 1) throw new IllegalArgumentException("Window must hold at least one query");
+        this.service = service;
+        this.pool = pool;
+        this.window = window;
+    }
+
+    /**
+     * Runs all queries of file and prints their results.
+     *
+     * @param queries query file
+     * @param out     stream results are printed to
+     * @return number of queries run
+     * @throws IOException if query file can not be read
+     */
+    public int run(Path queries, PrintStream out) throws IOException {
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>(window);
+        int count = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(queries)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] query = line.split("\\s+", 2);
+                String algorithm = query[0];
+                String start = query.length > 1 ? query[1] : null;
+
+                if (inFlight.size() == window)
+                    out.println(inFlight.poll().join());
+                inFlight.add(CompletableFuture.supplyAsync(() -> answer(algorithm, start), pool));
+                count++;
+            }
+        } finally {
+            while (! inFlight.isEmpty())
+                out.println(inFlight.poll().join());
+            out.flush();
+        }
+        return count;
+    }
+
+    private String answer(String algorithm, String start) {
+        try {
+            return service.searchAndFormat(algorithm, start);
+        } catch (RuntimeException e) {
+            return "[ERROR]: " + e.getMessage() + "\n";
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ui.service;
+
+import ui.common.ISearchAlgorithm;
+import ui.common.Node;
+import ui.common.NodeCost;
+import ui.common.SearchListener;
+import ui.common.SearchResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator of {@link ISearchAlgorithm} that remembers results of searches by starting state
+ * in a size bounded cache, dropping least recently used results when it is full.
+ * Searches that found nothing are remembered as well.
+ * <p>
+ * For algorithms that find cheapest paths every suffix of a found path is a cheapest path
+ * from its first state, so with suffix reuse enabled results for all states on a found path are
+ * cached too, with costs lowered by the cost of reaching the state. Such results did not
+ * search anything and report 0 visited states.
+ * <p>
+ * Cache can be used from many threads. Two threads missing the same state at the same time
+ * both search, and the later result is kept.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class CachingSearchAlgorithm<T extends Comparable<T>> implements ISearchAlgorithm<T> {
+    private final ISearchAlgorithm<T> algorithm;
+    private final boolean reuseSuffixes;
+    private final Map<T, SearchResult<T>> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private int visitedStates = - 1;
+
+    /**
+     * @param algorithm     algorithm whose results are cached
+     * @param maximumSize   maximum number of cached results
+     * @param reuseSuffixes <code>true</code> to cache suffixes of found paths, only valid for
+     *                      algorithms that find cheapest paths
+     */
+    public CachingSearchAlgorithm(ISearchAlgorithm<T> algorithm, int maximumSize, boolean reuseSuffixes) {
+        if (maximumSize < 1) throw new IllegalArgumentException("Cache must hold at least one result");
+        this.algorithm = algorithm;
+        this.reuseSuffixes = reuseSuffixes;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, SearchResult<T>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Searches from start of the problem without using the cache, only the starting state
+     * of given algorithm is known to it.
+     */
+    @Override
+    public NodeCost<T> search() {
+        NodeCost<T> node = algorithm.search();
+        if (node != null) visitedStates = algorithm.visitedStates();
+        return node;
+    }
+
+    @Override
+    public NodeCost<T> search(T state) {
+        SearchResult<T> result = run(state);
+        if (result.isFound()) visitedStates = result.getVisitedStates();
+        return result.getNode();
+    }
+
+    @Override
+    public SearchResult<T> run(T state) {
+        SearchResult<T> result;
+        synchronized (cache) {
+            result = cache.get(state);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+
+        misses.increment();
+        result = algorithm.run(state);
+        synchronized (cache) {
+            if (reuseSuffixes && result.isFound())
+                cacheSuffixes(result.getNode());
+            cache.put(state, result);
+        }
+        return result;
+    }
+
+    /**
+     * Caches path from every state of found path after the first one. Stops at first state
+     * already in cache, its cached result is at least as good as the rest of the path.
+     */
+    private void cacheSuffixes(NodeCost<T> goal) {
+        List<NodeCost<T>> path = new ArrayList<>();
+        for (Node<T> node = goal; node != null; node = node.getParent())
+            path.add((NodeCost<T>) node);
+        Collections.reverse(path);
+
+        for (int i = 1; i < path.size(); i++) {
+            NodeCost<T> first = path.get(i);
+            if (cache.containsKey(first.getState())) break;
+
+            double base = first.getCost();
+            NodeCost<T> suffix = new NodeCost<>(null, first.getState(), 0);
+            for (int j = i + 1; j < path.size(); j++)
+                suffix = new NodeCost<>(suffix, path.get(j).getState(), path.get(j).getCost() - base);
+            cache.put(first.getState(), new SearchResult<>(suffix, 0));
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Passes listener to cached algorithm, so only searches that miss the cache are reported.
+     */
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        algorithm.setSearchListener(listener);
+    }
+
+    @Override
+    public int visitedStates() {
+        return visitedStates;
+    }
+
+    @Override
+    public boolean isInformed() {
+        return algorithm.isInformed();
+    }
+
+    @Override
+    public String getName() {
+        return algorithm.getName();
+    }
+}
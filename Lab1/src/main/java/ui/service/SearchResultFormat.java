@@ -0,0 +1,119 @@
+package ui.service;
+
+import ui.common.BitStateSet;
+import ui.common.ISearchAlgorithm;
+import ui.common.NodeCost;
+import ui.common.SearchResult;
+import ui.informed.IHeuristicsCheckAlgorithm;
+
+import java.util.Locale;
+
+/**
+ * Formats results of searches and checks in the output format of the lab.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public final class SearchResultFormat {
+
+    private SearchResultFormat() {
+    }
+
+    /**
+     * Formats result of search done by algorithm.
+     *
+     * @param algorithm      algorithm that did the search
+     * @param result         result of search
+     * @param heuristicLabel name of heuristics shown for informed algorithms
+     * @return formatted result
+     */
+    public static String format(ISearchAlgorithm<?> algorithm, SearchResult<?> result, String heuristicLabel) {
+        return format(algorithm, result, heuristicLabel, true);
+    }
+
+    /**
+     * Formats result of search done by algorithm, optionally without number of visited states.
+     *
+     * @param algorithm      algorithm that did the search
+     * @param result         result of search
+     * @param heuristicLabel name of heuristics shown for informed algorithms
+     * @param visitedStates  <code>false</code> to leave out the line with visited states
+     * @return formatted result
+     */
+    public static String format(ISearchAlgorithm<?> algorithm, SearchResult<?> result, String heuristicLabel,
+                                boolean visitedStates) {
+        NodeCost<?> node = result.getNode();
+        StringBuilder stringBuilder = new StringBuilder(256);
+
+        //Line 1
+        stringBuilder.append("# ").append(algorithm.getName());
+        if (algorithm.isInformed())
+            stringBuilder.append(" ").append(heuristicLabel);
+        stringBuilder.append("\n");
+
+        //Line 2
+        stringBuilder.append(String.format("[FOUND_SOLUTION]: %s\n", node != null ? "yes" : "no"));
+
+        //Line 3
+        if (visitedStates)
+            stringBuilder.append(String.format("[STATES_VISITED]: %d\n", result.getVisitedStates()));
+
+        //Line 4
+        int pathLength = 0;
+        if (node != null)
+            pathLength = node.nodePathLength();
+        stringBuilder.append(String.format("[PATH_LENGTH]: %d\n", pathLength));
+
+        //Line 5
+        String cost = "0";
+        if (node != null)
+            cost = node.getFormattedCost();
+        stringBuilder.append(String.format("[TOTAL_COST]: %s\n", cost));
+
+        //Line 6
+        String path = "";
+        if (node != null)
+            path = node.nodePath();
+        stringBuilder.append(String.format("[PATH]: %s\n", path));
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Formats suboptimality bound and duration of a search, following its result.
+     *
+     * @param bound        suboptimality bound of found path
+     * @param elapsedNanos duration of search in nanoseconds
+     * @return formatted lines
+     */
+    public static String formatBound(double bound, long elapsedNanos) {
+        return String.format(Locale.ROOT, "[BOUND]: %.3f\n[TIME_MS]: %.3f\n", bound, elapsedNanos / 1e6);
+    }
+
+    /**
+     * Formats estimates of missed states of a search with bit-state hashing, following its result.
+     *
+     * @param bitStateSet visited states of search
+     * @return formatted lines
+     */
+    public static String formatBitState(BitStateSet<?> bitStateSet) {
+        return String.format(Locale.ROOT, "[BITSTATE]: %d bits, %d hashes\n[OMISSION_PROBABILITY]: %.3e\n[EXPECTED_MISSED]: %.3f\n",
+                bitStateSet.bitCount(), bitStateSet.hashCount(),
+                bitStateSet.omissionProbability(), bitStateSet.expectedMissedStates());
+    }
+
+    /**
+     * Runs check and formats its output.
+     *
+     * @param check          check of heuristics
+     * @param heuristicLabel name of checked heuristics
+     * @return formatted output
+     */
+    public static String formatCheck(IHeuristicsCheckAlgorithm<?> check, String heuristicLabel) {
+        String output = check.checkAndGetOutput();
+
+        return String.format("# %s %s\n", check.getName(), heuristicLabel) +
+                output;
+    }
+}
@@ -0,0 +1,126 @@
+package ui.service;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Resident server answering requests of a {@link SearchService} over a TCP socket bound
+ * to the loopback address, so problem and heuristics are loaded only once for many queries.
+ * Every connection is served by its own thread and connections are answered concurrently.
+ * <p>
+ * Protocol is line based and UTF-8 encoded. Client sends one request per line and every
+ * response is terminated by an empty line:
+ * <ul>
+ *     <li><code>search &lt;algorithm&gt; [start]</code> - result of search, the same block as printed for <code>--alg</code></li>
+ *     <li><code>check &lt;optimistic|consistent&gt;</code> - output of heuristics check</li>
+ *     <li><code>stats</code> - hits and misses of result caches</li>
+ *     <li><code>quit</code> - closes connection</li>
+ *     <li><code>shutdown</code> - stops the server</li>
+ * </ul>
+ * Failed requests are answered with a single <code>[ERROR]</code> line.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class SearchServer implements Closeable {
+    private final SearchService service;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+
+    /**
+     * Binds server to a port of loopback address.
+     *
+     * @param service service answering requests
+     * @param port    port, 0 for any free port
+     * @throws IOException if socket can not be bound
+     */
+    public SearchServer(SearchService service, int port) throws IOException {
+        this.service = service;
+        this.serverSocket = new ServerSocket(port, 64, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "search-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until server is closed.
+     *
+     * @throws IOException if accepting fails for other reason than closing the server
+     */
+    public void serve() throws IOException {
+        try {
+            while (! serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            }
+        } catch (SocketException e) {
+            if (! serverSocket.isClosed()) throw e;
+        } finally {
+            connections.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                String[] request = line.split("\\s+", 3);
+                String command = request[0].toLowerCase();
+                if (command.equals("quit")) return;
+                if (command.equals("shutdown")) {
+                    close();
+                    return;
+                }
+
+                out.write(answer(command, request));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException ignored) {
+            //Client went away, nothing to answer to
+        }
+    }
+
+    private String answer(String command, String[] request) {
+        try {
+            return switch (command) {
+                case "search" -> {
+                    if (request.length < 2) throw new IllegalArgumentException("Search needs an algorithm");
+                    yield service.searchAndFormat(request[1], request.length > 2 ? request[2] : null);
+                }
+                case "check" -> {
+                    if (request.length < 2) throw new IllegalArgumentException("Check needs a name");
+                    yield service.checkAndFormat(request[1]);
+                }
+                case "stats" -> service.cacheStatistics();
+                default -> throw new IllegalArgumentException("No command called " + command);
+            };
+        } catch (RuntimeException e) {
+            return "[ERROR]: " + e.getMessage() + "\n";
+        }
+    }
+}
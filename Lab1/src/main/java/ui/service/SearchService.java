@@ -0,0 +1,164 @@
+package ui.service;
+
+import ui.blind.BidirectionalBreathFirstSearch;
+import ui.blind.BidirectionalUniformCostSearch;
+import ui.blind.IntBreathFirstSearch;
+import ui.blind.IntUniformCostSearch;
+import ui.common.ISearchAlgorithm;
+import ui.common.IndexedSearchProblem;
+import ui.common.SearchResult;
+import ui.informed.Heuristics;
+import ui.informed.HeuristicsOptimisticCheck;
+import ui.informed.IHeuristicsCheckAlgorithm;
+import ui.informed.IntAStarSearch;
+import ui.informed.IterativeDeepeningAStarSearch;
+import ui.informed.ParallelHeuristicsConsistencyCheck;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers search queries over one loaded search problem and heuristics. Problem and heuristics
+ * are only read, and one instance of every algorithm is created on first use and shared by all
+ * queries, which run through {@link ISearchAlgorithm#run(Object)} and can come from many threads.
+ * Algorithms are named the same as with <code>--alg</code> argument.
+ * <p>
+ * Checks of heuristics, named <code>optimistic</code> and <code>consistent</code>, depend only on
+ * the problem and heuristics, so each is run once and its formatted output is reused.
+ * <p>
+ * With a cache size given, results of every algorithm are cached by starting state in a
+ * {@link CachingSearchAlgorithm}. Suffixes of found paths are reused for algorithms finding
+ * cheapest paths without heuristics. Formatted results of cached algorithms leave out the
+ * number of visited states, since a result taken from the cache did not search and would print
+ * another count than the search that put it there.
+ *
+ * @author MatejCubek
+ * @project UILab1
+ * @created 18/10/2026
+ */
+public class SearchService {
+    private final IndexedSearchProblem<String> searchProblem;
+    private final Heuristics<String> heuristics;
+    private final String heuristicLabel;
+    private final int transpositionTableSize;
+    private final int cacheSize;
+    private final Map<String, ISearchAlgorithm<String>> algorithms = new ConcurrentHashMap<>();
+    private final Map<String, String> checkOutputs = new ConcurrentHashMap<>();
+
+    public SearchService(IndexedSearchProblem<String> searchProblem, Heuristics<String> heuristics, String heuristicLabel) {
+        this(searchProblem, heuristics, heuristicLabel, 0, 0);
+    }
+
+    /**
+     * @param searchProblem          problem searched by all queries
+     * @param heuristics             heuristics for informed algorithms, can be <code>null</code>
+     * @param heuristicLabel         name of heuristics shown in formatted results
+     * @param transpositionTableSize size of transposition table of IDA-star
+     * @param cacheSize              number of results cached per algorithm, 0 for no caching
+     */
+    public SearchService(IndexedSearchProblem<String> searchProblem, Heuristics<String> heuristics,
+                         String heuristicLabel, int transpositionTableSize, int cacheSize) {
+        if (cacheSize < 0) throw new IllegalArgumentException("Cache size can not be negative");
+        this.searchProblem = searchProblem;
+        this.heuristics = heuristics;
+        this.heuristicLabel = heuristicLabel;
+        this.transpositionTableSize = transpositionTableSize;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Returns shared instance of algorithm with given name.
+     *
+     * @param name name of algorithm
+     * @return algorithm
+     * @throws IllegalArgumentException if there is no such algorithm or it needs heuristics that were not given
+     */
+    public ISearchAlgorithm<String> algorithm(String name) {
+        return algorithms.computeIfAbsent(name.toLowerCase(), this::createAlgorithm);
+    }
+
+    /**
+     * Searches with algorithm from given state.
+     *
+     * @param algorithm name of algorithm
+     * @param start     starting state or <code>null</code> for start of problem
+     * @return result of search
+     */
+    public SearchResult<String> search(String algorithm, String start) {
+        return algorithm(algorithm).run(start != null ? start : searchProblem.getStart());
+    }
+
+    /**
+     * Searches with algorithm from given state and formats the result.
+     *
+     * @param algorithm name of algorithm
+     * @param start     starting state or <code>null</code> for start of problem
+     * @return formatted result
+     */
+    public String searchAndFormat(String algorithm, String start) {
+        ISearchAlgorithm<String> searchAlgorithm = algorithm(algorithm);
+        SearchResult<String> result = searchAlgorithm.run(start != null ? start : searchProblem.getStart());
+        return SearchResultFormat.format(searchAlgorithm, result, heuristicLabel, cacheSize == 0);
+    }
+
+    /**
+     * Runs check of heuristics with given name and formats its output.
+     *
+     * @param check name of check
+     * @return formatted output of check
+     * @throws IllegalArgumentException if there is no such check or heuristics were not given
+     */
+    public String checkAndFormat(String check) {
+        return checkOutputs.computeIfAbsent(check.toLowerCase(),
+                name -> SearchResultFormat.formatCheck(createCheck(name), heuristicLabel));
+    }
+
+    /**
+     * Formats hits, misses and number of cached results of every used algorithm, one line each.
+     *
+     * @return statistics of caches, empty if results are not cached
+     */
+    public String cacheStatistics() {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(algorithms).forEach((name, algorithm) -> {
+            if (algorithm instanceof CachingSearchAlgorithm) {
+                var cached = (CachingSearchAlgorithm<String>) algorithm;
+                sb.append(String.format("%s: hits %d, misses %d, cached %d%n",
+                        name, cached.hitCount(), cached.missCount(), cached.size()));
+            }
+        });
+        return sb.toString();
+    }
+
+    public IndexedSearchProblem<String> getSearchProblem() {
+        return searchProblem;
+    }
+
+    private IHeuristicsCheckAlgorithm<String> createCheck(String name) {
+        if (heuristics == null)
+            throw new IllegalArgumentException("Check " + name + " needs heuristics");
+        return switch (name) {
+            case "optimistic" -> new HeuristicsOptimisticCheck<>(searchProblem, heuristics, true);
+            case "consistent" -> new ParallelHeuristicsConsistencyCheck<>(searchProblem, heuristics);
+            default -> throw new IllegalArgumentException("No check called " + name);
+        };
+    }
+
+    private ISearchAlgorithm<String> createAlgorithm(String name) {
+        ISearchAlgorithm<String> algorithm = switch (name) {
+            case "bfs" -> new IntBreathFirstSearch<>(searchProblem.getStateGraph());
+            case "ucs" -> new IntUniformCostSearch<>(searchProblem.getStateGraph());
+            case "bibfs" -> new BidirectionalBreathFirstSearch<>(searchProblem.getStateGraph());
+            case "biucs" -> new BidirectionalUniformCostSearch<>(searchProblem.getStateGraph());
+            case "astar" -> new IntAStarSearch<>(searchProblem.getStateGraph(), heuristics);
+            case "idastar" -> new IterativeDeepeningAStarSearch<>(searchProblem, heuristics, transpositionTableSize);
+            default -> throw new IllegalArgumentException("No algorithm called " + name);
+        };
+        if (algorithm.isInformed() && heuristics == null)
+            throw new IllegalArgumentException("Algorithm " + name + " needs heuristics");
+        if (cacheSize > 0)
+            return new CachingSearchAlgorithm<>(algorithm, cacheSize, name.equals("ucs") || name.equals("biucs"));
+        return algorithm;
+    }
+}
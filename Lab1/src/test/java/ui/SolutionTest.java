@@ -4,11 +4,40 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.*;
-
+import org.junit.jupiter.api.io.TempDir;
+import ui.blind.IntUniformCostSearch;
+import ui.common.ProblemParser;
+import ui.hierarchy.ContractionHierarchy;
+import ui.hierarchy.ContractionHierarchySearch;
+import ui.informed.AStarSearch;
+import ui.informed.HeuristicParser;
+import ui.informed.HeuristicsConsistencyCheck;
+import ui.informed.LandmarkHeuristics;
+import ui.informed.ParallelHeuristicsConsistencyCheck;
+import ui.puzzle.ManhattanHeuristics;
+import ui.puzzle.SlidingPuzzleProblem;
+import ui.service.SearchServer;
+import ui.service.SearchService;
+
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,6 +84,54 @@ class SolutionTest {
         assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
     }
 
+    @Test
+    void istraBitStateBFS() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        String[] args = {"--alg", "BFS", "--ss", statesPath.toAbsolutePath().toString(), "--bitstate", "16", "--hashes", "2"};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("[STATES_VISITED]: 11", lines[2].trim());
+        assertEquals("[PATH]: Pula => Barban => Labin => Lupoglav => Buzet", lines[5].trim());
+        assertEquals("[BITSTATE]: 65536 bits, 2 hashes", lines[6].trim());
+        assertTrue(lines[7].startsWith("[OMISSION_PROBABILITY]: "));
+        assertEquals("[EXPECTED_MISSED]: 0.000", lines[8].trim());
+    }
+
+    @Test
+    void bitStateWrongArguments() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        Solution.main(new String[]{"--alg", "BFS", "--ss", statesPath.toAbsolutePath().toString(), "--bitstate", "70"});
+        assertEquals("Bit array must have between 2^6 and 2^36 bits", outputStreamCaptor.toString().trim());
+        outputStreamCaptor.reset();
+
+        Solution.main(new String[]{"--alg", "BFS", "--ss", statesPath.toAbsolutePath().toString(), "--hashes", "0", "--bitstate", "16"});
+        assertEquals("At least one hash function is needed", outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void IstraParallelBFS() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        String[] args = {"--alg", "BFS", "--ss", statesPath.toAbsolutePath().toString(), "--parallel"};
+
+        Solution.main(args);
+
+        String expected = """
+                # BFS
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 11
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
     @Test
     void AiBFS() {
         Path statesPath = resources.resolve("ai.txt");
@@ -135,6 +212,413 @@ class SolutionTest {
         assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
     }
 
+    @Test
+    void slidingPuzzleLazyAStar() {
+        var problem = SlidingPuzzleProblem.parse(3, 3, "8 6 7 2 5 4 3 _ 1");
+        var node = new AStarSearch<>(problem, new ManhattanHeuristics(problem)).search();
+
+        assertTrue(problem.isSolvable());
+        assertEquals(31, node.getCost());
+        assertEquals("1,2,3/4,5,6/7,8,_", problem.format(node.getState()));
+    }
+
+    @Test
+    void istraAnytimeAstar() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+
+        String[] args = {"--alg", "arastar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--h", heuristicPath.toAbsolutePath().toString(), "--weight", "3"};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("# ARA-STAR istra_heuristic.txt", lines[0].trim());
+        assertEquals("[TOTAL_COST]: 100.0", lines[4].trim());
+        assertEquals("[BOUND]: 1.000", lines[6].trim());
+        assertTrue(lines[7].startsWith("[TIME_MS]: "));
+    }
+
+    @Test
+    void anytimeAstarWrongArguments() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+        String[][] wrong = {{"--weight", "0.5"}, {"--weight-step", "0"}, {"--deadline-ms", "-1"}};
+        String[] messages = {"Weight must be at least 1", "Weight step must be positive", "Deadline can not be negative"};
+
+        for (int i = 0; i < wrong.length; i++) {
+            outputStreamCaptor.reset();
+            Solution.main(new String[]{"--alg", "arastar", "--ss", statesPath.toAbsolutePath().toString(),
+                    "--h", heuristicPath.toAbsolutePath().toString(), wrong[i][0], wrong[i][1]});
+            assertEquals(messages[i], outputStreamCaptor.toString().trim());
+        }
+    }
+
+    @Test
+    void istraHashDistributedAstar() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+
+        String[] args = {"--alg", "hdastar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--h", heuristicPath.toAbsolutePath().toString(), "--threads", "3"};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("# HDA-STAR istra_heuristic.txt", lines[0].trim());
+        assertEquals("[TOTAL_COST]: 100.0", lines[4].trim());
+        assertEquals("[PATH]: Pula => Barban => Labin => Lupoglav => Buzet", lines[5].trim());
+    }
+
+    @Test
+    void hashDistributedAstarWrongThreads() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+
+        Solution.main(new String[]{"--alg", "hdastar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--h", heuristicPath.toAbsolutePath().toString(), "--threads", "0"});
+
+        assertEquals("Search needs at least one thread", outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void istraContractionHierarchy(@TempDir Path tempDir) {
+        Path statesPath = resources.resolve("istra.txt");
+        Path hierarchyPath = tempDir.resolve("istra.ch");
+
+        Solution.main(new String[]{"--ss", statesPath.toAbsolutePath().toString(), "--write-ch", hierarchyPath.toString()});
+        outputStreamCaptor.reset();
+
+        String[] args = {"--alg", "ch", "--ss", statesPath.toAbsolutePath().toString(), "--ch", hierarchyPath.toString()};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("# CH-UCS", lines[0].trim());
+        assertEquals("[TOTAL_COST]: 100.0", lines[4].trim());
+        assertEquals("[PATH]: Pula => Barban => Labin => Lupoglav => Buzet", lines[5].trim());
+    }
+
+    @Test
+    void istraContractionHierarchyCore() throws IOException {
+        var graph = new ProblemParser(resources.resolve("istra.txt")).getStateGraph();
+        var hierarchy = ContractionHierarchy.contract(graph, 1);
+        assertTrue(hierarchy.coreSize() > 0);
+
+        for (int state = 0; state < graph.stateCount(); state++) {
+            var expected = new IntUniformCostSearch<>(graph).search(graph.stateOf(state));
+            var received = new ContractionHierarchySearch<>(graph, hierarchy).search(graph.stateOf(state));
+
+            assertEquals(expected == null, received == null, graph.stateOf(state));
+            if (expected != null) assertEquals(expected.getCost(), received.getCost(), 1e-9, graph.stateOf(state));
+        }
+    }
+
+    @Test
+    void contractionHierarchyOfDifferentGraph(@TempDir Path tempDir) throws IOException {
+        var graph = new ProblemParser(resources.resolve("istra.txt")).getStateGraph();
+        Path hierarchyPath = tempDir.resolve("istra.ch");
+        ContractionHierarchy.contract(graph).write(hierarchyPath);
+
+        graph.updateCost(0, graph.edgeCost(0) + 1);
+
+        IOException exception = assertThrows(IOException.class, () -> ContractionHierarchy.load(hierarchyPath, graph));
+        assertEquals("Hierarchy " + hierarchyPath + " was built for a different graph", exception.getMessage());
+    }
+
+    @Test
+    void corruptedContractionHierarchy(@TempDir Path tempDir) throws IOException {
+        var graph = new ProblemParser(resources.resolve("istra.txt")).getStateGraph();
+        Path hierarchyPath = tempDir.resolve("istra.ch");
+        ContractionHierarchy.contract(graph).write(hierarchyPath);
+
+        //Makes rank of the first state negative, it follows magic, version, counts, checksum and core rank
+        byte[] bytes = Files.readAllBytes(hierarchyPath);
+        bytes[Integer.BYTES * 6 + Long.BYTES] = (byte) 0xFF;
+        Files.write(hierarchyPath, bytes);
+
+        assertThrows(IOException.class, () -> ContractionHierarchy.load(hierarchyPath, graph));
+    }
+
+    @Test
+    void istraLifelongPlanningAStar(@TempDir Path tempDir) throws IOException {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+        Path updatesPath = tempDir.resolve("updates.txt");
+        Files.writeString(updatesPath, "Barban Labin 100\nLabin Lupoglav 10\n");
+
+        String[] args = {"--alg", "lpastar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--h", heuristicPath.toAbsolutePath().toString(), "--updates", updatesPath.toString()};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("# LPA-STAR istra_heuristic.txt", lines[0].trim());
+        assertEquals("[STATES_VISITED]: 14", lines[2].trim());
+        assertEquals("[PATH]: Pula => Barban => Labin => Lupoglav => Buzet", lines[5].trim());
+        assertEquals("[UPDATE]: Barban => Labin 100", lines[6].trim());
+        assertEquals("[TOTAL_COST]: 102.0", lines[11].trim());
+        assertEquals("[UPDATE]: Labin => Lupoglav 10", lines[13].trim());
+        assertEquals("[STATES_VISITED]: 0", lines[16].trim());
+        assertEquals("[TOTAL_COST]: 102.0", lines[18].trim());
+    }
+
+    @Test
+    void lifelongPlanningAStarWrongUpdate(@TempDir Path tempDir) throws IOException {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+        Path updatesPath = tempDir.resolve("updates.txt");
+        Files.writeString(updatesPath, "Barban Labin 0\n");
+
+        String[] args = {"--alg", "lpastar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--h", heuristicPath.toAbsolutePath().toString(), "--updates", updatesPath.toString()};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals(7, lines.length);
+        assertEquals("[TOTAL_COST]: 100.0", lines[4].trim());
+        assertEquals("Wrong update: Barban Labin 0", lines[6].trim());
+    }
+
+    @Test
+    void firstLandmarkReachableFromStart(@TempDir Path tempDir) throws IOException {
+        Path statesPath = tempDir.resolve("states.txt");
+        Files.writeString(statesPath, """
+                A
+                D
+                A: B,1
+                B: C,1 D,5
+                C: D,1
+                X: A,1
+                Y: X,1
+                """);
+
+        var graph = new ProblemParser(statesPath).getStateGraph();
+        for (var strategy : LandmarkHeuristics.Strategy.values())
+            assertEquals("D", new LandmarkHeuristics<>(graph, 1, strategy).getLandmarks().get(0));
+    }
+
+    @Test
+    void istraAvoidLandmarks() throws IOException {
+        var graph = new ProblemParser(resources.resolve("istra.txt")).getStateGraph();
+
+        var farthest = new LandmarkHeuristics<>(graph, 6, LandmarkHeuristics.Strategy.FARTHEST).getLandmarks();
+        var avoid = new LandmarkHeuristics<>(graph, 6, LandmarkHeuristics.Strategy.AVOID).getLandmarks();
+
+        assertEquals(List.of("Opatija", "Medulin", "Umag", "Rovinj", "Labin", "Poreč"), farthest);
+        assertEquals(List.of("Opatija", "Medulin", "Barban", "Rovinj", "Poreč", "Umag"), avoid);
+    }
+
+    @Test
+    void istraLandmarkHeuristics() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        Solution.main(new String[]{"--check-consistent", "--ss", statesPath.toAbsolutePath().toString(), "--landmarks", "4"});
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("# HEURISTIC-CONSISTENT ALT-4", lines[0].trim());
+        assertEquals("[CONCLUSION]: Heuristic is consistent.", lines[lines.length - 1].trim());
+        outputStreamCaptor.reset();
+
+        String[] args = {"--alg", "astar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--landmarks", "4", "--landmark-strategy", "farthest"};
+
+        Solution.main(args);
+
+        lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("# A-STAR ALT-4", lines[0].trim());
+        assertEquals("[TOTAL_COST]: 100.0", lines[4].trim());
+        assertEquals("[PATH]: Pula => Barban => Labin => Lupoglav => Buzet", lines[5].trim());
+    }
+
+    @Test
+    void istraUcsMetrics() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        String[] args = {"--alg", "ucs", "--ss", statesPath.toAbsolutePath().toString(), "--metrics"};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertEquals("[STATES_VISITED]: 17", lines[2].trim());
+        assertTrue(lines[lines.length - 1].startsWith(
+                "{\"algorithm\":\"UCS\",\"found\":true,\"expanded\":16,\"generated\":22,\"duplicates\":3,"));
+    }
+
+    @Test
+    void istraAstarMetrics() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicPath = resources.resolve("istra_heuristic.txt");
+
+        String[] args = {"--alg", "astar", "--ss", statesPath.toAbsolutePath().toString(),
+                "--h", heuristicPath.toAbsolutePath().toString(), "--metrics"};
+
+        Solution.main(args);
+
+        String[] lines = outputStreamCaptor.toString().trim().split("\n");
+        assertTrue(lines[lines.length - 1].startsWith(
+                "{\"algorithm\":\"A-STAR\",\"found\":true,\"expanded\":13,\"generated\":16,\"duplicates\":0," +
+                        "\"decrease_key\":1,\"reopened\":0,"));
+    }
+
+    @Test
+    void istraUcsRadixFrontier() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        String[] args = {"--alg", "ucs", "--ss", statesPath.toAbsolutePath().toString(), "--frontier", "radix"};
+
+        Solution.main(args);
+
+        String expected = """
+                # UCS
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 17
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void ucsRadixFrontierWrongCosts(@TempDir Path tempDir) throws IOException {
+        Path statesPath = Files.writeString(tempDir.resolve("halves.txt"), "a\nc\na: b,0.5\nb: c,1.5\n");
+
+        Solution.main(new String[]{"--alg", "ucs", "--ss", statesPath.toString(), "--frontier", "radix"});
+
+        assertEquals("RADIX frontier needs non-negative integral costs", outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void istraExternalUcs(@TempDir Path tempDir) throws IOException {
+        Path statesPath = resources.resolve("istra.txt");
+
+        String[] args = {"--alg", "ucs", "--ss", statesPath.toAbsolutePath().toString(),
+                "--external-budget", "3", "--temp-dir", tempDir.toString()};
+
+        Solution.main(args);
+
+        String expected = """
+                # UCS
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 17
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void istraBidirectionalUCS() {
+        Path statesPath = resources.resolve("istra.txt");
+
+        String[] args = {"--alg", "BIUCS", "--ss", statesPath.toAbsolutePath().toString()};
+
+        Solution.main(args);
+
+        String expected = """
+                # BI-UCS
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 14
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void istraBatch(@TempDir Path tempDir) throws IOException {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicsPath = resources.resolve("istra_heuristic.txt");
+        Path queriesPath = Files.writeString(tempDir.resolve("queries.txt"), "ucs Pula\nastar Umag\n");
+
+        String[] args = {"--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString(),
+                "--batch", queriesPath.toString()};
+
+        Solution.main(args);
+
+        String expected = """
+                # UCS
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 17
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+
+                # A-STAR istra_heuristic.txt
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 5
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 54.0
+                [PATH]: Umag => Buje => Grožnjan => Motovun => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void istraCachedBatch(@TempDir Path tempDir) throws IOException {
+        Path statesPath = resources.resolve("istra.txt");
+        Path queriesPath = Files.writeString(tempDir.resolve("queries.txt"), "ucs Pula\nucs Barban\nucs Pula\nucs Labin\n");
+
+        Solution.main(new String[]{"--ss", statesPath.toAbsolutePath().toString(), "--batch", queriesPath.toString()});
+        String uncached = outputStreamCaptor.toString().replaceAll("\\[STATES_VISITED]: \\d+\\R", "");
+        outputStreamCaptor.reset();
+
+        Solution.main(new String[]{"--ss", statesPath.toAbsolutePath().toString(), "--batch", queriesPath.toString(), "--cache", "8"});
+
+        assertEquals(uncached, outputStreamCaptor.toString());
+        assertTrue(uncached.contains("[PATH]: Barban => Labin => Lupoglav => Buzet"));
+    }
+
+    @Test
+    void istraSearchServer() throws Exception {
+        var service = new SearchService(new ProblemParser(resources.resolve("istra.txt")), null, "");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (SearchServer server = new SearchServer(service, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            Future<?> serving = executor.submit(() -> {
+                server.serve();
+                return null;
+            });
+
+            out.write("search ucs Pula\nsearch\nshutdown\n");
+            out.flush();
+
+            String expected = """
+                    # UCS
+                    [FOUND_SOLUTION]: yes
+                    [STATES_VISITED]: 17
+                    [PATH_LENGTH]: 5
+                    [TOTAL_COST]: 100.0
+                    [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+
+                    [ERROR]: Search needs an algorithm
+
+                    """;
+            StringBuilder received = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null)
+                received.append(line).append("\n");
+
+            assertEquals(expected, received.toString());
+            serving.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void AiAstarFail() {
         Path statesPath = resources.resolve("ai.txt");
@@ -199,6 +683,99 @@ class SolutionTest {
     }
 
 
+    @Test
+    void IstraAstarMapped() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicsPath = resources.resolve("istra_heuristic.txt");
+
+        String[] args = {"--alg", "ASTAR", "--mmap", "--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString()};
+
+        Solution.main(args);
+
+        String expected = """
+                # A-STAR istra_heuristic.txt
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 14
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
+    @Test
+    void MappedCheckOrder() {
+        String[][] inputs = {{"ai.txt", "ai_pass.txt"}, {"istra.txt", "istra_heuristic.txt"}};
+        for (String[] input : inputs) {
+            for (String check : new String[]{"--check-optimistic", "--check-consistent"}) {
+                String[] args = {check, "--ss", resources.resolve(input[0]).toAbsolutePath().toString(),
+                        "--h", resources.resolve(input[1]).toAbsolutePath().toString()};
+
+                Solution.main(args);
+                String expected = outputStreamCaptor.toString();
+                outputStreamCaptor.reset();
+
+                String[] mappedArgs = Arrays.copyOf(args, args.length + 1);
+                mappedArgs[args.length] = "--mmap";
+                Solution.main(mappedArgs);
+
+                assertEquals(expected, outputStreamCaptor.toString());
+                outputStreamCaptor.reset();
+            }
+        }
+    }
+
+
+    @Test
+    void IstraAstarSnapshot(@TempDir Path tempDir) {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicsPath = resources.resolve("istra_heuristic.txt");
+        Path snapshotPath = tempDir.resolve("istra.snapshot");
+
+        Solution.main(new String[]{"--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString(),
+                "--write-snapshot", snapshotPath.toString()});
+        outputStreamCaptor.reset();
+
+        String[] args = {"--alg", "ASTAR", "--snapshot", snapshotPath.toString()};
+
+        Solution.main(args);
+
+        String expected = """
+                # A-STAR istra_heuristic.txt
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 14
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
+
+    @Test
+    void IstraIdaStar() {
+        Path statesPath = resources.resolve("istra.txt");
+        Path heuristicsPath = resources.resolve("istra_heuristic.txt");
+
+        String[] args = {"--alg", "IDASTAR", "--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString()};
+
+        Solution.main(args);
+
+        String expected = """
+                # IDA-STAR istra_heuristic.txt
+                [FOUND_SOLUTION]: yes
+                [STATES_VISITED]: 109
+                [PATH_LENGTH]: 5
+                [TOTAL_COST]: 100.0
+                [PATH]: Pula => Barban => Labin => Lupoglav => Buzet
+                """;
+
+        assertEquals(expected.trim(), outputStreamCaptor.toString().trim());
+    }
+
+
     @Test
     void IstraAstar2() {
         Path statesPath = resources.resolve("istra.txt");
@@ -366,6 +943,110 @@ class SolutionTest {
         assertTrue(expected.size() == recieved.size() && expected.containsAll(recieved) && recieved.containsAll(expected));
     }
 
+    @Test
+    void AiFloatHeuristicsConsistencyCheck() {
+        Path statesPath = resources.resolve("ai.txt");
+        Path heuristicsPath = resources.resolve("ai_fail.txt");
+
+        String[] args = {"--check-consistent", "--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString()};
+
+        Solution.main(args);
+        String expected = outputStreamCaptor.toString();
+        outputStreamCaptor.reset();
+
+        String[] floatArgs = Arrays.copyOf(args, args.length + 1);
+        floatArgs[args.length] = "--h-float";
+        Solution.main(floatArgs);
+
+        assertEquals(expected, outputStreamCaptor.toString());
+    }
+
+    @Test
+    void AiPassCheckOrder() {
+        Path statesPath = resources.resolve("ai.txt");
+        Path heuristicsPath = resources.resolve("ai_pass.txt");
+
+        Solution.main(new String[]{"--check-consistent", "--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString()});
+        Solution.main(new String[]{"--check-optimistic", "--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString()});
+
+        assertEquals("""
+                # HEURISTIC-CONSISTENT ai_pass.txt
+                [CONDITION]: [OK] h(fail_exam) <= h(fail_course) + c: 20.0 <= 0.0 + 20.0
+                [CONDITION]: [OK] h(fail_lab) <= h(fail_lab) + c: 17.0 <= 17.0 + 1.0
+                [CONDITION]: [OK] h(fail_lab) <= h(complete_lab) + c: 17.0 <= 13.0 + 4.0
+                [CONDITION]: [OK] h(fail_lab) <= h(fail_course) + c: 17.0 <= 0.0 + 20.0
+                [CONDITION]: [OK] h(enroll_artificial_intelligence) <= h(fail_lab) + c: 17.0 <= 17.0 + 1.0
+                [CONDITION]: [OK] h(enroll_artificial_intelligence) <= h(complete_lab) + c: 17.0 <= 13.0 + 4.0
+                [CONDITION]: [OK] h(fail_continuous) <= h(fail_exam) + c: 17.0 <= 20.0 + 1.0
+                [CONDITION]: [OK] h(fail_continuous) <= h(pass_exam) + c: 17.0 <= 1.0 + 16.0
+                [CONDITION]: [OK] h(complete_lab) <= h(fail_continuous) + c: 13.0 <= 17.0 + 1.0
+                [CONDITION]: [OK] h(complete_lab) <= h(pass_continuous) + c: 13.0 <= 1.0 + 12.0
+                [CONDITION]: [OK] h(pass_continuous) <= h(pass_course) + c: 1.0 <= 0.0 + 1.0
+                [CONDITION]: [OK] h(pass_exam) <= h(pass_course) + c: 1.0 <= 0.0 + 1.0
+                [CONCLUSION]: Heuristic is consistent.
+
+                # HEURISTIC-OPTIMISTIC ai_pass.txt
+                [CONDITION]: [OK] h(fail_exam) <= h*: 20.0 <= 20.0
+                [CONDITION]: [OK] h(fail_lab) <= h*: 17.0 <= 17.0
+                [CONDITION]: [OK] h(enroll_artificial_intelligence) <= h*: 17.0 <= 17.0
+                [CONDITION]: [OK] h(fail_continuous) <= h*: 17.0 <= 17.0
+                [CONDITION]: [OK] h(complete_lab) <= h*: 13.0 <= 13.0
+                [CONDITION]: [OK] h(pass_continuous) <= h*: 1.0 <= 1.0
+                [CONDITION]: [OK] h(pass_exam) <= h*: 1.0 <= 1.0
+                [CONDITION]: [OK] h(pass_course) <= h*: 0.0 <= 0.0
+                [CONDITION]: [OK] h(fail_course) <= h*: 0.0 <= 0.0
+                [CONCLUSION]: Heuristic is optimistic.
+
+                """, outputStreamCaptor.toString().replace("\r", ""));
+    }
+
+    @Test
+    void parallelConsistencyCheckOrder() throws IOException {
+        var problem = new ProblemParser(resources.resolve("istra.txt"));
+        var heuristics = new HeuristicParser(resources.resolve("istra_heuristic.txt"));
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            String expected = new HeuristicsConsistencyCheck<>(problem, heuristics).checkAndGetOutput();
+            String received = new ParallelHeuristicsConsistencyCheck<>(problem, heuristics, pool, 1).checkAndGetOutput();
+
+            assertEquals(expected, received);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void AiParallelConsistencyCheckFail() {
+        Path statesPath = resources.resolve("ai.txt");
+        Path heuristicsPath = resources.resolve("ai_fail.txt");
+
+        String[] args = {"--check-consistent", "--parallel", "--ss", statesPath.toAbsolutePath().toString(), "--h", heuristicsPath.toAbsolutePath().toString()};
+
+        Solution.main(args);
+
+        var expected = Arrays.asList("""
+                # HEURISTIC-CONSISTENT ai_fail.txt
+                [CONDITION]: [ERR] h(complete_lab) <= h(fail_continuous) + c: 10.0 <= 6.0 + 1.0
+                [CONDITION]: [OK] h(complete_lab) <= h(pass_continuous) + c: 10.0 <= 20.0 + 12.0
+                [CONDITION]: [ERR] h(enroll_artificial_intelligence) <= h(complete_lab) + c: 17.0 <= 10.0 + 4.0
+                [CONDITION]: [ERR] h(enroll_artificial_intelligence) <= h(fail_lab) + c: 17.0 <= 1.0 + 1.0
+                [CONDITION]: [OK] h(fail_continuous) <= h(fail_exam) + c: 6.0 <= 5.0 + 1.0
+                [CONDITION]: [OK] h(fail_continuous) <= h(pass_exam) + c: 6.0 <= 1.0 + 16.0
+                [CONDITION]: [OK] h(fail_exam) <= h(fail_course) + c: 5.0 <= 0.0 + 20.0
+                [CONDITION]: [OK] h(fail_lab) <= h(complete_lab) + c: 1.0 <= 10.0 + 4.0
+                [CONDITION]: [OK] h(fail_lab) <= h(fail_course) + c: 1.0 <= 0.0 + 20.0
+                [CONDITION]: [OK] h(fail_lab) <= h(fail_lab) + c: 1.0 <= 1.0 + 1.0
+                [CONDITION]: [ERR] h(pass_continuous) <= h(pass_course) + c: 20.0 <= 0.0 + 1.0
+                [CONDITION]: [OK] h(pass_exam) <= h(pass_course) + c: 1.0 <= 0.0 + 1.0
+                [CONCLUSION]: Heuristic is not consistent.
+                """.replace("\r","").split("\n"));
+
+        var recieved = Arrays.asList(outputStreamCaptor.toString().replace("\r","").split("\n"));
+
+        assertTrue(expected.size() == recieved.size() && expected.containsAll(recieved) && recieved.containsAll(expected));
+    }
+
     @Test
     void istraConsistencyTest() {
         Path statesPath = resources.resolve("istra.txt");